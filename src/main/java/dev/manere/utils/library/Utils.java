@@ -5,6 +5,8 @@ import dev.manere.utils.event.crystal.impl.SpigotCrystalEventListener;
 import dev.manere.utils.menu.listener.MenuListener;
 import dev.manere.utils.misc.Versions;
 import dev.manere.utils.registration.Registrar;
+import dev.manere.utils.scheduler.profiler.TickProfilerListener;
+import dev.manere.utils.tablist.TablistListener;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
@@ -30,6 +32,11 @@ public class Utils {
 
         Registrar.events(new SpigotCrystalEventListener());
         Registrar.events(new MenuListener());
+        Registrar.events(new TablistListener());
+
+        try {
+            Registrar.events(new TickProfilerListener());
+        } catch (NoClassDefFoundError ignored) {}
     }
 
     /**
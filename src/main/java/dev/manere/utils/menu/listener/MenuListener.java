@@ -1,10 +1,8 @@
 package dev.manere.utils.menu.listener;
 
-import dev.manere.utils.item.ItemBuilder;
 import dev.manere.utils.menu.Button;
 import dev.manere.utils.menu.normal.Menu;
 import dev.manere.utils.menu.paginated.PaginatedMenu;
-import dev.manere.utils.menu.paginated.PaginatedSlot;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -13,8 +11,6 @@ import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
 
-import java.util.Map;
-
 /**
  * A listener class for handling click events in menus.
  */
@@ -41,48 +37,30 @@ public class MenuListener implements Listener {
         }
 
         if (event.getInventory().getHolder() instanceof PaginatedMenu menu) {
-            Button stickyButton = menu.stickyButton(event.getSlot());
-
-            if (menu.currentPageItemEnabled() && event.getSlot() == menu.currentPageSlot()) {
-                event.setCancelled(true);
-            }
-
-            for (Map.Entry<Integer, ItemBuilder> entry : menu.previousButton().entrySet()) {
-                if (event.getSlot() == entry.getKey()) {
-                    event.setCancelled(true);
+            int slot = event.getSlot();
 
-                    if (menu.currentPage() > 1) {
-                        menu.open(player, menu.currentPage() - 1);
-                    }
-                }
-            }
+            // Looked up before navigating, so the buttons are the ones of the page that was clicked
+            PaginatedMenu.Navigation navigation = menu.navigation(slot);
+            Button stickyButton = menu.stickyButton(slot);
+            Button border = menu.borderButton(slot);
+            Button button = border != null ? border : menu.pageButton(menu.currentPage(), slot);
 
-            for (Map.Entry<Integer, ItemBuilder> entry : menu.nextButton().entrySet()) {
-                if (event.getSlot() == entry.getKey()) {
-                    event.setCancelled(true);
+            if (navigation != null) {
+                event.setCancelled(true);
 
-                    if (menu.totalPages() > 1) {
-                        menu.open(player, menu.currentPage() + 1);
-                    }
+                if (navigation == PaginatedMenu.Navigation.PREVIOUS && menu.currentPage() > 1) {
+                    menu.open(player, menu.currentPage() - 1);
+                } else if (navigation == PaginatedMenu.Navigation.NEXT && menu.totalPages() > 1) {
+                    menu.open(player, menu.currentPage() + 1);
                 }
             }
 
-            for (Map.Entry<Integer, Button> entry : menu.stickyButtons().entrySet()) {
-                if (event.getSlot() == entry.getKey()) {
-                    if (stickyButton != null && stickyButton.listener() != null) {
-                        stickyButton.listener().onClick(event);
-                    }
-                }
+            if (stickyButton != null && stickyButton.listener() != null) {
+                stickyButton.listener().onClick(event);
             }
 
-            for (Map.Entry<PaginatedSlot, Button> entry : menu.buttons().entrySet()) {
-                PaginatedSlot slotHolder = entry.getKey();
-                if (slotHolder.slot() == event.getSlot() && slotHolder.page() == menu.currentPage()) {
-                    Button button = entry.getValue();
-                    if (button != null && button.listener() != null) {
-                        button.listener().onClick(event);
-                    }
-                }
+            if (button != null && button.listener() != null) {
+                button.listener().onClick(event);
             }
         }
     }
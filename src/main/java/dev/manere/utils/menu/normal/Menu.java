@@ -127,10 +127,13 @@ public class Menu implements InventoryHolder, MenuBase<Menu> {
     public void open(@NotNull Player player) {
         player.openInventory(this.inventory);
 
+        // Restart the refresh timers instead of stacking another set on every open
+        Schedulers.tasks().cancel(this);
+
         for (Button button : buttons.values()) {
             if (button.isRefreshingButton()) {
                 Schedulers.builder(task -> {
-                    if (player.getOpenInventory().getTopInventory() != getInventory()) {
+                    if (getInventory().getViewers().isEmpty()) {
                         task.cancel();
                         return;
                     }
@@ -148,6 +151,7 @@ public class Menu implements InventoryHolder, MenuBase<Menu> {
 
                     config.afterTicks((int) button.refreshDelay());
                     config.everyTicks((int) button.refreshPeriod());
+                    config.owner(this);
                 }).execute();
             }
         }
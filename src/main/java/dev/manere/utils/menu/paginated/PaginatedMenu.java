@@ -9,12 +9,15 @@ import dev.manere.utils.menu.listener.DragListener;
 import dev.manere.utils.scheduler.Schedulers;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
+import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Level;
@@ -23,6 +26,10 @@ import java.util.logging.Level;
  * A {@link PaginatedMenu} class for creating paginated menus in Paper/Bukkit/Spigot.
  * <P>
  * This class allows you to build and manage paginated menus with customizable buttons, items, and pagination controls.
+ * <P>
+ * Each page keeps its own buttons and items by slot, while the border, sticky and pagination buttons are kept as overlays
+ * over every page. Opening a page or finding what was clicked only looks at the slots of that page,
+ * no matter how many pages the menu has.
  */
 public class PaginatedMenu implements InventoryHolder, MenuBase<PaginatedMenu> {
     private final Inventory inventory;
@@ -42,6 +49,12 @@ public class PaginatedMenu implements InventoryHolder, MenuBase<PaginatedMenu> {
     private CloseListener onClose;
     private DragListener onDrag;
 
+    private Page[] pages;
+    private int highestPage;
+    private final Button[] borderOverlay;
+    private final Button[] stickyOverlay;
+    private final Navigation[] navigationOverlay;
+
     /**
      * Constructs a new PaginatedMenu with the specified title and size.
      *
@@ -59,6 +72,10 @@ public class PaginatedMenu implements InventoryHolder, MenuBase<PaginatedMenu> {
         this.nextButton = new HashMap<>();
         this.borderMap = new HashMap<>();
         this.stickyButtons = new HashMap<>();
+        this.pages = new Page[0];
+        this.borderOverlay = new Button[size];
+        this.stickyOverlay = new Button[size];
+        this.navigationOverlay = new Navigation[size];
     }
 
     /**
@@ -84,55 +101,55 @@ public class PaginatedMenu implements InventoryHolder, MenuBase<PaginatedMenu> {
     /**
      * Get a map of buttons in the menu.
      *
-     * @return A map of buttons and their positions.
+     * @return An unmodifiable map of buttons and their positions.
      */
     public @NotNull Map<PaginatedSlot, Button> buttons() {
-        return buttons;
+        return Collections.unmodifiableMap(buttons);
     }
 
     /**
      * Get a map of previous buttons in the menu.
      *
-     * @return A map of previous buttons and their positions.
+     * @return An unmodifiable map of previous buttons and their positions.
      */
     public @NotNull Map<Integer, ItemBuilder> previousButton() {
-        return previousButton;
+        return Collections.unmodifiableMap(previousButton);
     }
 
     /**
      * Get a map of next buttons in the menu.
      *
-     * @return A map of next buttons and their positions.
+     * @return An unmodifiable map of next buttons and their positions.
      */
     public @NotNull Map<Integer, ItemBuilder> nextButton() {
-        return nextButton;
+        return Collections.unmodifiableMap(nextButton);
     }
 
     /**
      * Get a map of border items in the menu.
      *
-     * @return A map of border items and their patterns.
+     * @return An unmodifiable map of border items and their patterns.
      */
     public @NotNull Map<Button, String[]> borderMap() {
-        return borderMap;
+        return Collections.unmodifiableMap(borderMap);
     }
 
     /**
      * Get a map of sticky buttons in the menu.
      *
-     * @return A map of sticky buttons and their positions.
+     * @return An unmodifiable map of sticky buttons and their positions.
      */
     public @NotNull Map<Integer, Button> stickyButtons() {
-        return stickyButtons;
+        return Collections.unmodifiableMap(stickyButtons);
     }
 
     /**
      * Get a map of items in the menu.
      *
-     * @return A map of items and their positions.
+     * @return An unmodifiable map of items and their positions.
      */
     public @NotNull Map<PaginatedSlot, ItemBuilder> items() {
-        return items;
+        return Collections.unmodifiableMap(items);
     }
 
     /**
@@ -173,7 +190,7 @@ public class PaginatedMenu implements InventoryHolder, MenuBase<PaginatedMenu> {
      */
     @Override
     public @NotNull PaginatedMenu button(@NotNull PaginatedSlot where, @NotNull Button button) {
-        buttons.put(where, button);
+        index(where, button);
 
         return this;
     }
@@ -189,6 +206,9 @@ public class PaginatedMenu implements InventoryHolder, MenuBase<PaginatedMenu> {
     public @NotNull PaginatedMenu item(@NotNull PaginatedSlot where, @Nullable ItemBuilder item) {
         items.put(where, item);
 
+        Page page = page(where);
+        if (page != null) page.items[where.slot()] = item;
+
         return this;
     }
 
@@ -219,6 +239,7 @@ public class PaginatedMenu implements InventoryHolder, MenuBase<PaginatedMenu> {
      */
     public @NotNull PaginatedMenu stickyButton(int where, @NotNull Button button) {
         stickyButtons.put(where, button);
+        if (where >= 0 && where < size) stickyOverlay[where] = button;
 
         return this;
     }
@@ -235,14 +256,22 @@ public class PaginatedMenu implements InventoryHolder, MenuBase<PaginatedMenu> {
     public @NotNull PaginatedMenu paginationButtons(int previousItemSlot, @NotNull ItemBuilder previousItem, int nextItemSlot, @NotNull ItemBuilder nextItem) {
         this.inventory.setItem(previousItemSlot, previousItem.build());
         previousButton.put(previousItemSlot, previousItem);
+        navigation(previousItemSlot, Navigation.PREVIOUS);
 
         this.inventory.setItem(nextItemSlot, nextItem.build());
         nextButton.put(nextItemSlot, nextItem);
+        navigation(nextItemSlot, Navigation.NEXT);
 
         return this;
     }
 
     public @NotNull PaginatedMenu currentPageButton(int slot, @NotNull ItemBuilder item) {
+        if (this.currentPageItemEnabled && navigation(this.currentPageSlot) == Navigation.CURRENT_PAGE) {
+            navigationOverlay[this.currentPageSlot] = null;
+        }
+
+        navigation(slot, Navigation.CURRENT_PAGE);
+
         this.currentPageItemEnabled = true;
         this.currentPageItem = item;
         this.currentPageSlot = slot;
@@ -267,10 +296,10 @@ public class PaginatedMenu implements InventoryHolder, MenuBase<PaginatedMenu> {
                 for (int col = 0; col < rowCharacters.length && col < 9; col++) {
                     String character = rowCharacters[col];
 
-                    if (character.equals("X")) {
+                    if (character.equals("X") && col + row * 9 < this.size) {
                         this.inventory.setItem(col + row * 9, borderItem.item().build().clone());
                         borderMap.put(borderItem, borderPatterns);
-                        buttons.put(new PaginatedSlot(col + row * 9, currentPage), borderItem);
+                        borderOverlay[col + row * 9] = borderItem;
                     }
                 }
 
@@ -323,10 +352,10 @@ public class PaginatedMenu implements InventoryHolder, MenuBase<PaginatedMenu> {
     /**
      * Get the border mapping of buttons and patterns.
      *
-     * @return The border mapping.
+     * @return An unmodifiable view of the border mapping.
      */
     public @NotNull Map<Button, String[]> border() {
-        return borderMap;
+        return Collections.unmodifiableMap(borderMap);
     }
 
     /**
@@ -352,62 +381,36 @@ public class PaginatedMenu implements InventoryHolder, MenuBase<PaginatedMenu> {
 
         player.openInventory(this.inventory);
 
-        this.currentPage = page;
+        // Refreshing buttons belong to the page being replaced, restart them for the new one
+        Schedulers.tasks().cancel(this);
 
-        int highestPage = 1;
+        this.currentPage = page;
 
-        for (PaginatedSlot slotHolder : buttons.keySet()) {
-            highestPage = Math.max(highestPage, slotHolder.page());
+        if (highestPage > 0) {
             this.totalPages = highestPage;
         }
 
-        for (PaginatedSlot slotHolder : items.keySet()) {
-            if (totalPages > Math.max(highestPage, slotHolder.page())) {
-                highestPage = Math.max(highestPage, slotHolder.page());
-                this.totalPages = highestPage;
-            }
-        }
-
-        for (Button button : buttons.values()) {
-            if (pageSlotHolderByButton(button).page() == currentPage) {
-                if (!button.isRefreshingButton()) {
-                    this.inventory.setItem(pageSlotHolderByButton(button).slot(), button.item().build());
-                } else {
-                    Schedulers.builder(task -> {
-                        if (player.getOpenInventory().getTopInventory() != getInventory()) {
-                            task.cancel();
-                            return;
-                        }
-
-                        if (pageSlotHolderByButton(button).page() != currentPage) {
-                            task.cancel();
-                            return;
-                        }
-
-                        int slot = pageSlotHolderByButton(button).slot();
+        Page content = page >= 1 && page <= pages.length ? pages[page - 1] : null;
 
-                        getInventory().clear(slot);
-                        getInventory().setItem(slot, button.item().name(button.item().build().displayName()).build());
+        if (content != null) {
+            for (int slot = 0; slot < size; slot++) {
+                Button button = content.buttons[slot];
 
-                        player.updateInventory();
-                    }).config(config -> {
-                        if (button.isRefreshingAsync()) {
-                            config.async();
-                        } else {
-                            config.sync();
-                        }
+                if (button == null) continue;
 
-                        config.afterTicks((int) button.refreshDelay());
-                        config.everyTicks((int) button.refreshPeriod());
-                    })
-                    .execute();
+                if (!button.isRefreshingButton()) {
+                    this.inventory.setItem(slot, button.item().build());
+                } else {
+                    refresh(button, page, slot);
                 }
             }
-        }
 
-        for (ItemBuilder item : items.values()) {
-            if (pageSlotHolderByItem(item).page() == currentPage) {
-                this.inventory.setItem(pageSlotHolderByItem(item).slot(), item.build());
+            for (int slot = 0; slot < size; slot++) {
+                ItemBuilder item = content.items[slot];
+
+                if (item != null) {
+                    this.inventory.setItem(slot, item.build());
+                }
             }
         }
 
@@ -423,9 +426,11 @@ public class PaginatedMenu implements InventoryHolder, MenuBase<PaginatedMenu> {
             }
         }
 
-        if (!borderMap.isEmpty()) {
-            for (Map.Entry<Button, String[]> entry : borderMap.entrySet()) {
-                PaginatedMenu menu = border(entry.getKey(), borderMap.get(entry.getKey()));
+        for (int slot = 0; slot < size; slot++) {
+            Button border = borderOverlay[slot];
+
+            if (border != null) {
+                this.inventory.setItem(slot, border.item().build().clone());
             }
         }
 
@@ -449,6 +454,41 @@ public class PaginatedMenu implements InventoryHolder, MenuBase<PaginatedMenu> {
         player.updateInventory();
     }
 
+    /**
+     * Starts refreshing a button of the opened page, until the page is closed or replaced.
+     */
+    private void refresh(@NotNull Button button, int page, int slot) {
+        Schedulers.builder(task -> {
+            if (getInventory().getViewers().isEmpty()) {
+                task.cancel();
+                return;
+            }
+
+            if (page != currentPage || pageButton(page, slot) != button) {
+                task.cancel();
+                return;
+            }
+
+            getInventory().clear(slot);
+            getInventory().setItem(slot, button.item().name(button.item().build().displayName()).build());
+
+            for (HumanEntity viewer : getInventory().getViewers()) {
+                if (viewer instanceof Player other) other.updateInventory();
+            }
+        }).config(config -> {
+            if (button.isRefreshingAsync()) {
+                config.async();
+            } else {
+                config.sync();
+            }
+
+            config.afterTicks((int) button.refreshDelay());
+            config.everyTicks((int) button.refreshPeriod());
+            config.owner(this);
+        })
+        .execute();
+    }
+
     /**
      * Open the next page of the menu for a player.
      *
@@ -487,6 +527,44 @@ public class PaginatedMenu implements InventoryHolder, MenuBase<PaginatedMenu> {
         return buttons.get(where);
     }
 
+    /**
+     * Get the button on a page at a specific slot of the menu, without creating a {@link PaginatedSlot}.
+     *
+     * @param page The page to get the button from, starting at 1.
+     * @param slot The slot to get the button from.
+     * @return The button at the specified page and slot, or null if there is none.
+     */
+    public @Nullable Button pageButton(int page, int slot) {
+        if (page < 1 || page > pages.length || slot < 0 || slot >= size) return null;
+
+        Page content = pages[page - 1];
+        return content == null ? null : content.buttons[slot];
+    }
+
+    /**
+     * Get the item on a page at a specific slot of the menu, without creating a {@link PaginatedSlot}.
+     *
+     * @param page The page to get the item from, starting at 1.
+     * @param slot The slot to get the item from.
+     * @return The item at the specified page and slot, or null if there is none.
+     */
+    public @Nullable ItemBuilder pageItem(int page, int slot) {
+        if (page < 1 || page > pages.length || slot < 0 || slot >= size) return null;
+
+        Page content = pages[page - 1];
+        return content == null ? null : content.items[slot];
+    }
+
+    /**
+     * Get the border button at a specific slot of the menu, shown on every page.
+     *
+     * @param slot The slot to get the border button from.
+     * @return The border button at the specified slot, or null if there is none.
+     */
+    public @Nullable Button borderButton(int slot) {
+        return slot >= 0 && slot < size ? borderOverlay[slot] : null;
+    }
+
     /**
      * Get a sticky button at a specific position in the menu.
      *
@@ -494,7 +572,57 @@ public class PaginatedMenu implements InventoryHolder, MenuBase<PaginatedMenu> {
      * @return The sticky button at the specified position.
      */
     public @Nullable Button stickyButton(int where) {
-        return stickyButtons.get(where);
+        return where >= 0 && where < size ? stickyOverlay[where] : null;
+    }
+
+    /**
+     * Get the pagination control at a specific slot of the menu.
+     *
+     * @param slot The slot to get the pagination control from.
+     * @return The pagination control at the specified slot, or null if there is none.
+     */
+    public @Nullable Navigation navigation(int slot) {
+        return slot >= 0 && slot < size ? navigationOverlay[slot] : null;
+    }
+
+    private void navigation(int slot, @NotNull Navigation navigation) {
+        if (slot >= 0 && slot < size) navigationOverlay[slot] = navigation;
+    }
+
+    /**
+     * Stores a button and indexes it by page and slot.
+     */
+    private void index(@NotNull PaginatedSlot where, @NotNull Button button) {
+        buttons.put(where, button);
+
+        Page page = page(where);
+        if (page != null) page.buttons[where.slot()] = button;
+    }
+
+    /**
+     * Gets the page of a position, creating it and growing the page index as needed.
+     *
+     * @return The page, or null if the position is outside the menu.
+     */
+    private @Nullable Page page(@NotNull PaginatedSlot where) {
+        int page = where.page();
+        int slot = where.slot();
+
+        if (page < 1 || slot < 0 || slot >= size) return null;
+
+        if (page > pages.length) {
+            pages = Arrays.copyOf(pages, Math.max(page, pages.length * 2));
+        }
+
+        Page content = pages[page - 1];
+
+        if (content == null) {
+            content = new Page(size);
+            pages[page - 1] = content;
+        }
+
+        highestPage = Math.max(highestPage, page);
+        return content;
     }
 
     /**
@@ -644,4 +772,37 @@ public class PaginatedMenu implements InventoryHolder, MenuBase<PaginatedMenu> {
     public int currentPageSlot() {
         return currentPageSlot;
     }
+
+    /**
+     * The buttons and items of a single page, by slot.
+     */
+    private static final class Page {
+        private final Button[] buttons;
+        private final ItemBuilder[] items;
+
+        private Page(int size) {
+            this.buttons = new Button[size];
+            this.items = new ItemBuilder[size];
+        }
+    }
+
+    /**
+     * The pagination controls a slot of a {@link PaginatedMenu} can hold.
+     */
+    public enum Navigation {
+        /**
+         * Opens the previous page.
+         */
+        PREVIOUS,
+
+        /**
+         * Opens the next page.
+         */
+        NEXT,
+
+        /**
+         * Shows the current page.
+         */
+        CURRENT_PAGE
+    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package dev.manere.utils.scheduler;
 
 import dev.manere.utils.library.Utils;
+import dev.manere.utils.scheduler.task.ScheduledTask;
 import org.bukkit.scheduler.BukkitScheduler;
 import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
@@ -18,31 +19,35 @@ public abstract class SchedulerBase {
      * Executes a task using the Bukkit scheduler.
      *
      * @param task The task to be executed.
+     * @return A handle to the scheduled task.
      */
-    public abstract void execute(@NotNull Consumer<BukkitTask> task);
+    public abstract @NotNull ScheduledTask execute(@NotNull Consumer<BukkitTask> task);
 
     /**
      * Executes a runnable task using the Bukkit scheduler.
      *
      * @param runnable The runnable task to be executed.
+     * @return A handle to the scheduled task.
      */
-    public abstract void execute(@NotNull Runnable runnable);
+    public abstract @NotNull ScheduledTask execute(@NotNull Runnable runnable);
 
     /**
      * Executes a task using the Bukkit scheduler after a specified number of ticks.
      *
      * @param task       The task to be executed.
      * @param afterTicks The number of ticks to wait before execution.
+     * @return A handle to the scheduled task.
      */
-    public abstract void execute(@NotNull Consumer<BukkitTask> task, int afterTicks);
+    public abstract @NotNull ScheduledTask execute(@NotNull Consumer<BukkitTask> task, int afterTicks);
 
     /**
      * Executes a runnable task using the Bukkit scheduler after a specified number of ticks.
      *
      * @param runnable   The runnable task to be executed.
      * @param afterTicks The number of ticks to wait before execution.
+     * @return A handle to the scheduled task.
      */
-    public abstract void execute(@NotNull Runnable runnable, int afterTicks);
+    public abstract @NotNull ScheduledTask execute(@NotNull Runnable runnable, int afterTicks);
 
     /**
      * Executes a task using the Bukkit scheduler after a specified number of ticks,
@@ -51,8 +56,9 @@ public abstract class SchedulerBase {
      * @param task       The task to be executed.
      * @param afterTicks The number of ticks to wait before the first execution.
      * @param everyTicks The number of ticks between each repeated execution.
+     * @return A handle to the scheduled task.
      */
-    public abstract void execute(@NotNull Consumer<BukkitTask> task, int afterTicks, int everyTicks);
+    public abstract @NotNull ScheduledTask execute(@NotNull Consumer<BukkitTask> task, int afterTicks, int everyTicks);
 
     /**
      * Executes a runnable task using the Bukkit scheduler after a specified number of ticks,
@@ -61,8 +67,39 @@ public abstract class SchedulerBase {
      * @param runnable   The runnable task to be executed.
      * @param afterTicks The number of ticks to wait before the first execution.
      * @param everyTicks The number of ticks between each repeated execution.
+     * @return A handle to the scheduled task.
      */
-    public abstract void execute(@NotNull Runnable runnable, int afterTicks, int everyTicks);
+    public abstract @NotNull ScheduledTask execute(@NotNull Runnable runnable, int afterTicks, int everyTicks);
+
+    /**
+     * Executes a task using the Bukkit scheduler, profiled under a label from its very first run.
+     *
+     * @param task       The task to be executed.
+     * @param afterTicks The number of ticks to wait before the first execution, or null to run it right away.
+     * @param everyTicks The number of ticks between each repeated execution, or null to run it once.
+     * @param label      The label the task is profiled under, or null for the default label.
+     * @return A handle to the scheduled task.
+     * @throws UnsupportedOperationException if everyTicks is set without afterTicks.
+     */
+    public @NotNull ScheduledTask execute(@NotNull Consumer<BukkitTask> task, @Nullable Integer afterTicks, @Nullable Integer everyTicks, @Nullable String label) {
+        ScheduledTask handle = handle(afterTicks, everyTicks, label);
+        return handle.bind(schedule(handle.wrap(task), afterTicks, everyTicks));
+    }
+
+    /**
+     * Executes a runnable task using the Bukkit scheduler, profiled under a label from its very first run.
+     *
+     * @param runnable   The runnable task to be executed.
+     * @param afterTicks The number of ticks to wait before the first execution, or null to run it right away.
+     * @param everyTicks The number of ticks between each repeated execution, or null to run it once.
+     * @param label      The label the task is profiled under, or null for the default label.
+     * @return A handle to the scheduled task.
+     * @throws UnsupportedOperationException if everyTicks is set without afterTicks.
+     */
+    public @NotNull ScheduledTask execute(@NotNull Runnable runnable, @Nullable Integer afterTicks, @Nullable Integer everyTicks, @Nullable String label) {
+        ScheduledTask handle = handle(afterTicks, everyTicks, label);
+        return handle.bind(schedule(handle.wrap(runnable), afterTicks, everyTicks));
+    }
 
     /**
      * Executes a supplier task and returns the result.
@@ -88,4 +125,32 @@ public abstract class SchedulerBase {
     public final @NotNull BukkitScheduler scheduler() {
         return Utils.plugin().getServer().getScheduler();
     }
+
+    /**
+     * Checks whether the tasks of this scheduler run on the main server thread.
+     *
+     * @return True if tasks run on the main server thread, false otherwise.
+     */
+    protected abstract boolean sync();
+
+    /**
+     * Hands an already wrapped runnable to the Bukkit scheduler.
+     *
+     * @param runnable   The wrapped runnable.
+     * @param afterTicks The number of ticks to wait before the first execution, or null to run it right away.
+     * @param everyTicks The number of ticks between each repeated execution, or null to run it once.
+     * @return The Bukkit task.
+     */
+    protected abstract @NotNull BukkitTask schedule(@NotNull Runnable runnable, @Nullable Integer afterTicks, @Nullable Integer everyTicks);
+
+    private @NotNull ScheduledTask handle(@Nullable Integer afterTicks, @Nullable Integer everyTicks, @Nullable String label) {
+        if (everyTicks != null && afterTicks == null) {
+            throw new UnsupportedOperationException("Not supported");
+        }
+
+        ScheduledTask handle = new ScheduledTask(sync(), everyTicks != null);
+
+        // Labelled before the task is wrapped and scheduled, so even an immediate run is recorded under it
+        return label == null ? handle : handle.label(label);
+    }
 }
@@ -2,18 +2,37 @@ package dev.manere.utils.scheduler;
 
 import dev.manere.utils.scheduler.async.AsyncScheduler;
 import dev.manere.utils.scheduler.builder.SchedulerBuilder;
+import dev.manere.utils.scheduler.handoff.SyncHandoff;
+import dev.manere.utils.scheduler.pipeline.SchedulerPipeline;
+import dev.manere.utils.scheduler.profiler.TaskProfiler;
 import dev.manere.utils.scheduler.stacker.SchedulerStacker;
 import dev.manere.utils.scheduler.sync.SyncScheduler;
+import dev.manere.utils.scheduler.task.TaskRegistry;
+import dev.manere.utils.scheduler.wheel.TimingWheel;
+import org.bukkit.Bukkit;
 import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 /**
  * This class provides methods for retrieving scheduler types.
  */
 public class Schedulers {
+    private static final TaskRegistry TASKS = new TaskRegistry();
+    private static final TimingWheel WHEEL = new TimingWheel();
+    private static final TaskProfiler PROFILER = new TaskProfiler();
+    private static final SyncHandoff HANDOFF = new SyncHandoff();
+    private static final Executor SYNC_EXECUTOR = runnable -> {
+        if (Bukkit.isPrimaryThread()) {
+            runnable.run();
+        } else {
+            HANDOFF.publish(runnable);
+        }
+    };
+
     /**
      * Create and return a new instance of a synchronous scheduler.
      *
@@ -93,4 +112,59 @@ public class Schedulers {
     public static @NotNull SchedulerStacker stacker() {
         return new SchedulerStacker();
     }
+
+    /**
+     * Create and return a new instance of a scheduler pipeline.
+     *
+     * @return A new instance of a scheduler pipeline.
+     */
+    public static @NotNull SchedulerPipeline pipeline() {
+        return new SchedulerPipeline();
+    }
+
+    /**
+     * Returns the shared registry grouping scheduled tasks by owner.
+     *
+     * @return The shared task registry.
+     */
+    public static @NotNull TaskRegistry tasks() {
+        return TASKS;
+    }
+
+    /**
+     * Returns the shared timing wheel, meant for large amounts of short synchronous timers.
+     *
+     * @return The shared timing wheel.
+     */
+    public static @NotNull TimingWheel wheel() {
+        return WHEEL;
+    }
+
+    /**
+     * Returns the shared profiler recording the execution statistics of every scheduled task.
+     *
+     * @return The shared task profiler.
+     */
+    public static @NotNull TaskProfiler profiler() {
+        return PROFILER;
+    }
+
+    /**
+     * Returns the shared handoff, batching work published from any thread into one drain per tick on the main thread.
+     *
+     * @return The shared sync handoff.
+     */
+    public static @NotNull SyncHandoff handoff() {
+        return HANDOFF;
+    }
+
+    /**
+     * Returns an executor running tasks on the main server thread, for use with {@link java.util.concurrent.CompletableFuture}.
+     * Tasks submitted from the main thread run inline, tasks submitted from other threads go through the {@link #handoff()}.
+     *
+     * @return The main thread executor.
+     */
+    public static @NotNull Executor syncExecutor() {
+        return SYNC_EXECUTOR;
+    }
 }
@@ -2,6 +2,7 @@ package dev.manere.utils.scheduler.async;
 
 import dev.manere.utils.library.Utils;
 import dev.manere.utils.scheduler.SchedulerBase;
+import dev.manere.utils.scheduler.task.ScheduledTask;
 import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -19,48 +20,54 @@ public class AsyncScheduler extends SchedulerBase {
      * {@inheritDoc}
      */
     @Override
-    public void execute(@NotNull Consumer<BukkitTask> task) {
-        scheduler().runTaskAsynchronously(Utils.plugin(), task);
+    public @NotNull ScheduledTask execute(@NotNull Consumer<BukkitTask> task) {
+        ScheduledTask handle = new ScheduledTask(false, false);
+        return handle.bind(scheduler().runTaskAsynchronously(Utils.plugin(), handle.wrap(task)));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void execute(@NotNull Runnable runnable) {
-        scheduler().runTaskAsynchronously(Utils.plugin(), runnable);
+    public @NotNull ScheduledTask execute(@NotNull Runnable runnable) {
+        ScheduledTask handle = new ScheduledTask(false, false);
+        return handle.bind(scheduler().runTaskAsynchronously(Utils.plugin(), handle.wrap(runnable)));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void execute(@NotNull Consumer<BukkitTask> task, int afterTicks) {
-        scheduler().runTaskLaterAsynchronously(Utils.plugin(), task, afterTicks);
+    public @NotNull ScheduledTask execute(@NotNull Consumer<BukkitTask> task, int afterTicks) {
+        ScheduledTask handle = new ScheduledTask(false, false);
+        return handle.bind(scheduler().runTaskLaterAsynchronously(Utils.plugin(), handle.wrap(task), afterTicks));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void execute(@NotNull Runnable runnable, int afterTicks) {
-        scheduler().runTaskLaterAsynchronously(Utils.plugin(), runnable, afterTicks);
+    public @NotNull ScheduledTask execute(@NotNull Runnable runnable, int afterTicks) {
+        ScheduledTask handle = new ScheduledTask(false, false);
+        return handle.bind(scheduler().runTaskLaterAsynchronously(Utils.plugin(), handle.wrap(runnable), afterTicks));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void execute(@NotNull Consumer<BukkitTask> task, int afterTicks, int everyTicks) {
-        scheduler().runTaskTimerAsynchronously(Utils.plugin(), task, afterTicks, everyTicks);
+    public @NotNull ScheduledTask execute(@NotNull Consumer<BukkitTask> task, int afterTicks, int everyTicks) {
+        ScheduledTask handle = new ScheduledTask(false, true);
+        return handle.bind(scheduler().runTaskTimerAsynchronously(Utils.plugin(), handle.wrap(task), afterTicks, everyTicks));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void execute(@NotNull Runnable runnable, int afterTicks, int everyTicks) {
-        scheduler().runTaskTimerAsynchronously(Utils.plugin(), runnable, afterTicks, everyTicks);
+    public @NotNull ScheduledTask execute(@NotNull Runnable runnable, int afterTicks, int everyTicks) {
+        ScheduledTask handle = new ScheduledTask(false, true);
+        return handle.bind(scheduler().runTaskTimerAsynchronously(Utils.plugin(), handle.wrap(runnable), afterTicks, everyTicks));
     }
 
     /**
@@ -86,4 +93,23 @@ public class AsyncScheduler extends SchedulerBase {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean sync() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected @NotNull BukkitTask schedule(@NotNull Runnable runnable, @Nullable Integer afterTicks, @Nullable Integer everyTicks) {
+        if (afterTicks == null) return scheduler().runTaskAsynchronously(Utils.plugin(), runnable);
+        if (everyTicks == null) return scheduler().runTaskLaterAsynchronously(Utils.plugin(), runnable, afterTicks);
+
+        return scheduler().runTaskTimerAsynchronously(Utils.plugin(), runnable, afterTicks, everyTicks);
+    }
 }
@@ -1,7 +1,9 @@
 package dev.manere.utils.scheduler.builder;
 
+import dev.manere.utils.scheduler.SchedulerBase;
 import dev.manere.utils.scheduler.Schedulers;
 import dev.manere.utils.scheduler.builder.task.SchedulerTask;
+import dev.manere.utils.scheduler.task.ScheduledTask;
 import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 
@@ -119,90 +121,55 @@ public class SchedulerBuilder {
         return this;
     }
 
+    /**
+     * Sets the owner the task will be grouped under in {@link Schedulers#tasks()}.
+     *
+     * @param owner The owner of the task (a plugin, menu, player or any other key).
+     * @return This SchedulerBuilder instance for method chaining.
+     */
+    public @NotNull SchedulerBuilder owner(@NotNull Object owner) {
+        this.config.owner(owner);
+        return this;
+    }
+
+    /**
+     * Sets the label the task will be profiled under in {@link Schedulers#profiler()}.
+     *
+     * @param label The label of the task.
+     * @return This SchedulerBuilder instance for method chaining.
+     */
+    public @NotNull SchedulerBuilder label(@NotNull String label) {
+        this.config.label(label);
+        return this;
+    }
+
     /**
      * Executes the scheduled task based on the configured options.
+     *
+     * @return A handle to the scheduled task, grouped under the configured owner if one was set.
+     * @throws IllegalStateException if neither a runnable nor a task consumer was set.
+     * @throws UnsupportedOperationException if everyTicks was set without afterTicks.
      */
     @SuppressWarnings("unchecked")
-    public void execute() {
-        switch (config.threadType()) {
-            case SYNC -> {
-                // Immediate, SYNC
-                if (config.everyTicks() == null && config.afterTicks() == null) {
-                    if (schedulerTask.appropriate() instanceof Consumer<?> consumer) {
-                        Consumer<BukkitTask> taskConsumer = (Consumer<BukkitTask>) consumer;
-                        Schedulers.sync().execute(taskConsumer);
-                    } else if (schedulerTask.appropriate() instanceof Runnable runnable) {
-                        Schedulers.sync().execute(runnable);
-                    }
-
-                    break;
-                }
-
-                // Delayed, SYNC
-                if (config.everyTicks() == null && config.afterTicks() != null) {
-                    if (schedulerTask.appropriate() instanceof Consumer<?> consumer) {
-                        Consumer<BukkitTask> taskConsumer = (Consumer<BukkitTask>) consumer;
-                        Schedulers.sync().execute(taskConsumer, config.afterTicks());
-                    } else if (schedulerTask.appropriate() instanceof Runnable runnable) {
-                        Schedulers.sync().execute(runnable, config.afterTicks());
-                    }
-
-                    break;
-                }
-
-                // Timer, SYNC
-                if (config.everyTicks() != null && config.afterTicks() != null) {
-                    if (schedulerTask.appropriate() instanceof Consumer<?> consumer) {
-                        Consumer<BukkitTask> taskConsumer = (Consumer<BukkitTask>) consumer;
-                        Schedulers.sync().execute(taskConsumer, config.afterTicks(), config.everyTicks());
-                    } else if (schedulerTask.appropriate() instanceof Runnable runnable) {
-                        Schedulers.sync().execute(runnable, config.afterTicks(), config.everyTicks());
-                    }
-
-                    break;
-                }
-
-                throw new UnsupportedOperationException("Not supported");
-            }
-            case ASYNC -> {
-                // Immediate, ASYNC
-                if (config.everyTicks() == null && config.afterTicks() == null) {
-                    if (schedulerTask.appropriate() instanceof Consumer<?> consumer) {
-                        Consumer<BukkitTask> taskConsumer = (Consumer<BukkitTask>) consumer;
-                        Schedulers.async().execute(taskConsumer);
-                    } else if (schedulerTask.appropriate() instanceof Runnable runnable) {
-                        Schedulers.async().execute(runnable);
-                    }
-
-                    break;
-                }
-
-                // Delayed, ASYNC
-                if (config.everyTicks() == null && config.afterTicks() != null) {
-                    if (schedulerTask.appropriate() instanceof Consumer<?> consumer) {
-                        Consumer<BukkitTask> taskConsumer = (Consumer<BukkitTask>) consumer;
-                        Schedulers.async().execute(taskConsumer, config.afterTicks());
-                    } else if (schedulerTask.appropriate() instanceof Runnable runnable) {
-                        Schedulers.async().execute(runnable, config.afterTicks());
-                    }
-
-                    break;
-                }
-
-                // Timer, ASYNC
-                if (config.everyTicks() != null && config.afterTicks() != null) {
-                    if (schedulerTask.appropriate() instanceof Consumer<?> consumer) {
-                        Consumer<BukkitTask> taskConsumer = (Consumer<BukkitTask>) consumer;
-                        Schedulers.async().execute(taskConsumer, config.afterTicks(), config.everyTicks());
-                    } else if (schedulerTask.appropriate() instanceof Runnable runnable) {
-                        Schedulers.async().execute(runnable, config.afterTicks(), config.everyTicks());
-                    }
-
-                    break;
-                }
-
-                throw new UnsupportedOperationException("Not supported");
-            }
+    public @NotNull ScheduledTask execute() {
+        SchedulerBase scheduler = switch (config.threadType()) {
+            case SYNC -> Schedulers.sync();
+            case ASYNC -> Schedulers.async();
+        };
+
+        Object appropriate = schedulerTask == null ? null : schedulerTask.appropriate();
+        ScheduledTask handle;
+
+        // The label is passed along rather than set afterwards, an immediate task could otherwise run under the default label
+        if (appropriate instanceof Consumer<?> consumer) {
+            handle = scheduler.execute((Consumer<BukkitTask>) consumer, config.afterTicks(), config.everyTicks(), config.label());
+        } else if (appropriate instanceof Runnable runnable) {
+            handle = scheduler.execute(runnable, config.afterTicks(), config.everyTicks(), config.label());
+        } else {
+            throw new IllegalStateException("No runnable or task set");
         }
+
+        Object owner = config.owner();
+        return owner == null ? handle : handle.owner(owner);
     }
 }
@@ -1,16 +1,19 @@
 package dev.manere.utils.scheduler.builder;
 
+import dev.manere.utils.scheduler.Schedulers;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * SchedulerConfig represents the configuration options for scheduling tasks.
- * It includes parameters such as everyTicks, afterTicks, and threadType.
+ * It includes parameters such as everyTicks, afterTicks, threadType, owner and label.
  */
 public class SchedulerConfig {
     private @Nullable Integer everyTicks;
     private @Nullable Integer afterTicks;
     private @NotNull SchedulerThreadType threadType;
+    private @Nullable Object owner;
+    private @Nullable String label;
 
     /**
      * Constructs a new SchedulerConfig with default values.
@@ -19,6 +22,8 @@ public class SchedulerConfig {
         this.everyTicks = null;
         this.afterTicks = null;
         this.threadType = SchedulerThreadType.SYNC;
+        this.owner = null;
+        this.label = null;
     }
 
     /**
@@ -100,4 +105,44 @@ public class SchedulerConfig {
         this.threadType = threadType;
         return this;
     }
+
+    /**
+     * Gets the owner the task will be grouped under.
+     *
+     * @return The owner, or null if the task has no owner.
+     */
+    public @Nullable Object owner() {
+        return owner;
+    }
+
+    /**
+     * Sets the owner the task will be grouped under in {@link Schedulers#tasks()}.
+     *
+     * @param owner The owner to set.
+     * @return This SchedulerConfig instance for method chaining.
+     */
+    public @NotNull SchedulerConfig owner(@Nullable Object owner) {
+        this.owner = owner;
+        return this;
+    }
+
+    /**
+     * Gets the label the task will be profiled under.
+     *
+     * @return The label, or null to derive it from the task.
+     */
+    public @Nullable String label() {
+        return label;
+    }
+
+    /**
+     * Sets the label the task will be profiled under in {@link Schedulers#profiler()}.
+     *
+     * @param label The label to set.
+     * @return This SchedulerConfig instance for method chaining.
+     */
+    public @NotNull SchedulerConfig label(@Nullable String label) {
+        this.label = label;
+        return this;
+    }
 }
@@ -0,0 +1,75 @@
+package dev.manere.utils.scheduler.handoff;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A lock-free, unbounded, multi-producer single-consumer queue.
+ * <P>
+ * Producers publish with a single atomic swap and never block each other or the consumer.
+ * {@link #poll()} and {@link #isEmpty()} must only ever be called from one consumer thread at a time.
+ *
+ * @param <T> The type of the queued values.
+ */
+public class MpscQueue<T> {
+    private final AtomicReference<Node<T>> head;
+    private Node<T> tail;
+
+    /**
+     * Constructs a new, empty, MpscQueue.
+     */
+    public MpscQueue() {
+        Node<T> stub = new Node<>(null);
+
+        this.head = new AtomicReference<>(stub);
+        this.tail = stub;
+    }
+
+    /**
+     * Publishes a value. Safe to call from any thread.
+     *
+     * @param value The value to publish.
+     */
+    public void offer(@NotNull T value) {
+        Node<T> node = new Node<>(value);
+        Node<T> previous = head.getAndSet(node);
+
+        previous.next.lazySet(node);
+    }
+
+    /**
+     * Takes the oldest value out of the queue. Must only be called from the consumer thread.
+     *
+     * @return The oldest value, or null if the queue is empty.
+     */
+    public @Nullable T poll() {
+        Node<T> next = tail.next.get();
+        if (next == null) return null;
+
+        T value = next.value;
+        next.value = null;
+        tail = next;
+
+        return value;
+    }
+
+    /**
+     * Checks whether the queue is empty. Must only be called from the consumer thread.
+     *
+     * @return True if no published value is waiting, false otherwise.
+     */
+    public boolean isEmpty() {
+        return tail.next.get() == null;
+    }
+
+    private static final class Node<T> {
+        private final AtomicReference<Node<T>> next = new AtomicReference<>();
+        private @Nullable T value;
+
+        private Node(@Nullable T value) {
+            this.value = value;
+        }
+    }
+}
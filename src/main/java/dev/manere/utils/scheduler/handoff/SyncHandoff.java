@@ -0,0 +1,121 @@
+package dev.manere.utils.scheduler.handoff;
+
+import dev.manere.utils.library.Utils;
+import dev.manere.utils.scheduler.Schedulers;
+import dev.manere.utils.scheduler.task.ScheduledTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Hands work from any thread over to the main server thread in batches.
+ * <P>
+ * Instead of one Bukkit task per callback, published tasks are collected in a lock-free {@link MpscQueue}
+ * and applied by a single repeating sync task, once per tick. An optional per-tick budget
+ * (in tasks and/or time) spreads large bursts over several ticks, whatever is left over runs on the next tick.
+ * <P>
+ * Use {@link Schedulers#handoff()} to access the shared handoff.
+ */
+public class SyncHandoff {
+    private final MpscQueue<Runnable> queue;
+    private volatile int maxTasks;
+    private volatile long maxNanos;
+    private volatile @Nullable ScheduledTask driver;
+
+    /**
+     * Constructs a new SyncHandoff without any per-tick budget.
+     */
+    public SyncHandoff() {
+        this.queue = new MpscQueue<>();
+        this.maxTasks = 0;
+        this.maxNanos = 0L;
+        this.driver = null;
+    }
+
+    /**
+     * Publishes a task to run on the main server thread during the next drain. Safe to call from any thread.
+     *
+     * @param runnable The task to run.
+     */
+    public void publish(@NotNull Runnable runnable) {
+        queue.offer(runnable);
+
+        ScheduledTask driver = this.driver;
+        if (driver == null || driver.isCancelled()) start();
+    }
+
+    /**
+     * Publishes a result to be consumed on the main server thread during the next drain. Safe to call from any thread.
+     *
+     * @param value    The result.
+     * @param consumer The consumer applying the result.
+     * @param <T>      The type of the result.
+     */
+    public <T> void publish(@Nullable T value, @NotNull Consumer<T> consumer) {
+        publish(() -> consumer.accept(value));
+    }
+
+    /**
+     * Sets the maximum number of tasks applied per tick.
+     *
+     * @param maxTasks The maximum number of tasks, or 0 for no limit.
+     * @return This SyncHandoff instance for method chaining.
+     */
+    public @NotNull SyncHandoff maxTasks(int maxTasks) {
+        this.maxTasks = Math.max(0, maxTasks);
+        return this;
+    }
+
+    /**
+     * Sets the maximum time spent applying tasks per tick.
+     * A drain always applies at least one task, and stops once this budget is exceeded.
+     *
+     * @param time The maximum time, or 0 for no limit.
+     * @param unit The unit of the time.
+     * @return This SyncHandoff instance for method chaining.
+     */
+    public @NotNull SyncHandoff maxTime(long time, @NotNull TimeUnit unit) {
+        this.maxNanos = Math.max(0L, unit.toNanos(time));
+        return this;
+    }
+
+    /**
+     * Applies the published tasks, within the per-tick budget.
+     * This is called by the driving task and should not be called manually.
+     *
+     * @return The number of tasks applied.
+     */
+    public int drain() {
+        int maxTasks = this.maxTasks;
+        long maxNanos = this.maxNanos;
+        long start = maxNanos == 0L ? 0L : System.nanoTime();
+        int applied = 0;
+
+        Runnable runnable;
+
+        while ((runnable = queue.poll()) != null) {
+            try {
+                runnable.run();
+            } catch (Throwable throwable) {
+                Utils.plugin().getLogger().log(Level.SEVERE, "A sync handoff task threw an exception", throwable);
+            }
+
+            applied++;
+
+            if (maxTasks != 0 && applied >= maxTasks) break;
+            if (maxNanos != 0L && System.nanoTime() - start >= maxNanos) break;
+        }
+
+        return applied;
+    }
+
+    private synchronized void start() {
+        ScheduledTask driver = this.driver;
+        if (driver != null && !driver.isCancelled()) return;
+
+        this.driver = Schedulers.sync().execute(this::drain, 1, 1);
+    }
+}
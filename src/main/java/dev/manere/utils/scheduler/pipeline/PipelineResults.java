@@ -0,0 +1,74 @@
+package dev.manere.utils.scheduler.pipeline;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the results of the completed stages of a {@link SchedulerPipeline}.
+ * <P>
+ * A stage can only see the results of stages that completed before it, which
+ * always includes every stage it declared as a dependency.
+ */
+public class PipelineResults {
+    private final Map<String, Object> results = Collections.synchronizedMap(new HashMap<>());
+
+    /**
+     * Stores the result of a completed stage.
+     *
+     * @param key    The key of the stage.
+     * @param result The result of the stage.
+     */
+    void put(@NotNull String key, @Nullable Object result) {
+        results.put(key, result);
+    }
+
+    /**
+     * Gets the result of a completed stage.
+     *
+     * @param key The key of the stage.
+     * @param <T> The type of the result.
+     * @return The result of the stage, or null if the stage has not completed or returned null.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T get(@NotNull String key) {
+        return (T) results.get(key);
+    }
+
+    /**
+     * Gets the result of a completed stage, casting it to the given type.
+     *
+     * @param key  The key of the stage.
+     * @param type The expected type of the result.
+     * @param <T>  The type of the result.
+     * @return The result of the stage, or null if the stage has not completed or returned null.
+     * @throws ClassCastException if the result is not of the given type.
+     */
+    public <T> @Nullable T get(@NotNull String key, @NotNull Class<T> type) {
+        return type.cast(results.get(key));
+    }
+
+    /**
+     * Checks whether the given stage has completed.
+     *
+     * @param key The key of the stage.
+     * @return True if the stage has completed, false otherwise.
+     */
+    public boolean completed(@NotNull String key) {
+        return results.containsKey(key);
+    }
+
+    /**
+     * Returns a snapshot of all the results stored so far.
+     *
+     * @return A copy of the stage results, keyed by stage key.
+     */
+    public @NotNull Map<String, Object> asMap() {
+        synchronized (results) {
+            return new HashMap<>(results);
+        }
+    }
+}
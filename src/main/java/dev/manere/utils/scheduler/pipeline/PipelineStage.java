@@ -0,0 +1,37 @@
+package dev.manere.utils.scheduler.pipeline;
+
+import dev.manere.utils.scheduler.builder.SchedulerThreadType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A single stage of a {@link SchedulerPipeline}.
+ * <P>
+ * A stage has a unique key, the thread it should run on, the keys of the stages it depends on
+ * and the function that computes its result from the results of the previous stages.
+ *
+ * @param key          The unique key of this stage.
+ * @param threadType   The thread type this stage runs on.
+ * @param dependencies The keys of the stages that must complete before this stage runs.
+ * @param function     The function computing the result of this stage.
+ */
+public record PipelineStage(
+        @NotNull String key,
+        @NotNull SchedulerThreadType threadType,
+        @NotNull List<String> dependencies,
+        @NotNull Function<PipelineResults, ?> function
+) {
+    /**
+     * Constructs a new PipelineStage, copying the dependency list.
+     *
+     * @param key          The unique key of this stage.
+     * @param threadType   The thread type this stage runs on.
+     * @param dependencies The keys of the stages that must complete before this stage runs.
+     * @param function     The function computing the result of this stage.
+     */
+    public PipelineStage {
+        dependencies = List.copyOf(dependencies);
+    }
+}
@@ -0,0 +1,261 @@
+package dev.manere.utils.scheduler.pipeline;
+
+import dev.manere.utils.scheduler.Schedulers;
+import dev.manere.utils.scheduler.builder.SchedulerThreadType;
+import dev.manere.utils.scheduler.stacker.SchedulerStacker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * SchedulerPipeline is a dependency-aware alternative to {@link SchedulerStacker}.
+ * <P>
+ * Stages are declared with a key, a thread type and the keys of the stages they depend on.
+ * When executed, every stage runs as soon as all of its dependencies have completed, so
+ * independent async stages run in parallel, while sync stages are handed to the main thread
+ * through the shared {@link Schedulers#handoff()}.
+ * A sync stage whose dependencies completed on the main thread runs inline instead of waiting
+ * for the next tick.
+ * <P>
+ * If a stage fails, every stage depending on it (directly or transitively) fails with the same cause,
+ * and the future returned by {@link #execute()} completes exceptionally. Stages on unrelated branches
+ * keep running. {@link #cancel()} stops every stage that has not started yet.
+ * <P>
+ * Example:
+ * <pre>{@code
+ * Schedulers.pipeline()
+ *         .async("load", results -> loadFromDatabase(uuid))
+ *         .async("compute", results -> compute(results.get("load")), "load")
+ *         .sync("apply", results -> apply(player, results.get("compute")), "compute")
+ *         .execute();
+ * }</pre>
+ */
+public class SchedulerPipeline {
+    private static final Executor ASYNC_EXECUTOR = runnable -> Schedulers.async().execute(runnable);
+
+    private final @NotNull Map<String, PipelineStage> stages;
+    private final @NotNull Object lock;
+    private @NotNull List<CompletableFuture<Object>> futures;
+    private volatile boolean cancelled;
+
+    /**
+     * Constructs a new SchedulerPipeline without any stages.
+     */
+    public SchedulerPipeline() {
+        this.stages = new LinkedHashMap<>();
+        this.lock = new Object();
+        this.futures = new ArrayList<>();
+        this.cancelled = false;
+    }
+
+    /**
+     * Adds a stage to this pipeline.
+     *
+     * @param stage The stage to add.
+     * @return This SchedulerPipeline instance for method chaining.
+     * @throws IllegalArgumentException if a stage with the same key already exists.
+     */
+    public @NotNull SchedulerPipeline stage(@NotNull PipelineStage stage) {
+        if (stages.containsKey(stage.key())) {
+            throw new IllegalArgumentException("Duplicate pipeline stage: " + stage.key());
+        }
+
+        stages.put(stage.key(), stage);
+        return this;
+    }
+
+    /**
+     * Adds a stage to this pipeline.
+     *
+     * @param key          The unique key of the stage.
+     * @param threadType   The thread type the stage runs on.
+     * @param function     The function computing the result of the stage.
+     * @param dependencies The keys of the stages that must complete before this stage runs.
+     * @return This SchedulerPipeline instance for method chaining.
+     */
+    public @NotNull SchedulerPipeline stage(
+            @NotNull String key,
+            @NotNull SchedulerThreadType threadType,
+            @NotNull Function<PipelineResults, ?> function,
+            @NotNull String... dependencies
+    ) {
+        return stage(new PipelineStage(key, threadType, Arrays.asList(dependencies), function));
+    }
+
+    /**
+     * Adds a stage running on the main server thread.
+     *
+     * @param key          The unique key of the stage.
+     * @param function     The function computing the result of the stage.
+     * @param dependencies The keys of the stages that must complete before this stage runs.
+     * @return This SchedulerPipeline instance for method chaining.
+     */
+    public @NotNull SchedulerPipeline sync(
+            @NotNull String key,
+            @NotNull Function<PipelineResults, ?> function,
+            @NotNull String... dependencies
+    ) {
+        return stage(key, SchedulerThreadType.SYNC, function, dependencies);
+    }
+
+    /**
+     * Adds a stage running on a separate thread.
+     *
+     * @param key          The unique key of the stage.
+     * @param function     The function computing the result of the stage.
+     * @param dependencies The keys of the stages that must complete before this stage runs.
+     * @return This SchedulerPipeline instance for method chaining.
+     */
+    public @NotNull SchedulerPipeline async(
+            @NotNull String key,
+            @NotNull Function<PipelineResults, ?> function,
+            @NotNull String... dependencies
+    ) {
+        return stage(key, SchedulerThreadType.ASYNC, function, dependencies);
+    }
+
+    /**
+     * Executes the pipeline.
+     *
+     * @return A future completed with the results of every stage once all stages have completed,
+     *         or completed exceptionally if any stage failed or the pipeline was cancelled.
+     * @throws IllegalStateException if a stage depends on an unknown stage, or the stages form a cycle.
+     */
+    public @NotNull CompletableFuture<PipelineResults> execute() {
+        List<PipelineStage> order = order();
+        PipelineResults results = new PipelineResults();
+        Map<String, CompletableFuture<Object>> byKey = new HashMap<>();
+        List<CompletableFuture<Object>> futures = new ArrayList<>(order.size());
+
+        // Nothing runs until the whole chain is built, sync stages would otherwise run inline right here
+        CompletableFuture<Void> start = new CompletableFuture<>();
+
+        for (PipelineStage stage : order) {
+            CompletableFuture<?>[] dependencies = stage.dependencies().stream()
+                    .map(byKey::get)
+                    .toArray(CompletableFuture[]::new);
+
+            CompletableFuture<Void> ready = dependencies.length == 0
+                    ? start
+                    : CompletableFuture.allOf(dependencies);
+
+            CompletableFuture<Object> future = ready.thenApplyAsync(ignored -> {
+                if (cancelled) {
+                    throw new CancellationException("Pipeline cancelled before stage " + stage.key());
+                }
+
+                Object result = stage.function().apply(results);
+                results.put(stage.key(), result);
+                return result;
+            }, executor(stage.threadType()));
+
+            byKey.put(stage.key(), future);
+            futures.add(future);
+        }
+
+        // Only the latest execution is kept, earlier ones still stop at the cancelled flag
+        synchronized (lock) {
+            this.futures = futures;
+        }
+
+        if (cancelled) {
+            futures.forEach(future -> future.cancel(false));
+        }
+
+        CompletableFuture<PipelineResults> completion = CompletableFuture.allOf(byKey.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> results);
+
+        // Started outside of the lock, so a stage running inline never blocks cancel()
+        start.complete(null);
+        return completion;
+    }
+
+    /**
+     * Cancels the pipeline. Stages that are already running finish, but no further stage is started,
+     * and the future returned by {@link #execute()} completes exceptionally with a {@link CancellationException}.
+     */
+    public void cancel() {
+        this.cancelled = true;
+
+        synchronized (lock) {
+            futures.forEach(future -> future.cancel(false));
+        }
+    }
+
+    /**
+     * Checks whether this pipeline was cancelled.
+     *
+     * @return True if the pipeline was cancelled, false otherwise.
+     */
+    public boolean cancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Gets the stage with the given key.
+     *
+     * @param key The key of the stage.
+     * @return The stage, or null if no stage has the given key.
+     */
+    public @Nullable PipelineStage stage(@NotNull String key) {
+        return stages.get(key);
+    }
+
+    private @NotNull List<PipelineStage> order() {
+        List<PipelineStage> order = new ArrayList<>(stages.size());
+        Set<String> visited = new HashSet<>();
+        Set<String> visiting = new HashSet<>();
+
+        for (PipelineStage stage : stages.values()) {
+            visit(stage, visited, visiting, order);
+        }
+
+        return order;
+    }
+
+    private void visit(
+            @NotNull PipelineStage stage,
+            @NotNull Set<String> visited,
+            @NotNull Set<String> visiting,
+            @NotNull List<PipelineStage> order
+    ) {
+        if (visited.contains(stage.key())) return;
+
+        if (!visiting.add(stage.key())) {
+            throw new IllegalStateException("Pipeline stages form a cycle through: " + stage.key());
+        }
+
+        for (String dependency : stage.dependencies()) {
+            PipelineStage dependencyStage = stages.get(dependency);
+
+            if (dependencyStage == null) {
+                throw new IllegalStateException("Stage " + stage.key() + " depends on unknown stage: " + dependency);
+            }
+
+            visit(dependencyStage, visited, visiting, order);
+        }
+
+        visiting.remove(stage.key());
+        visited.add(stage.key());
+        order.add(stage);
+    }
+
+    private static @NotNull Executor executor(@NotNull SchedulerThreadType threadType) {
+        return switch (threadType) {
+            case SYNC -> Schedulers.syncExecutor();
+            case ASYNC -> ASYNC_EXECUTOR;
+        };
+    }
+}
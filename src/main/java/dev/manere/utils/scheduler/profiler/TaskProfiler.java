@@ -0,0 +1,144 @@
+package dev.manere.utils.scheduler.profiler;
+
+import dev.manere.utils.scheduler.Schedulers;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects execution statistics of every task scheduled through the {@link Schedulers} layer, keyed by task label.
+ * <P>
+ * Every run is timed, and a synchronous run that pushes the current tick over its 50ms budget
+ * is counted as a tick overrun of its label. Use {@link Schedulers#profiler()} to access the shared profiler.
+ */
+public class TaskProfiler {
+    /**
+     * The time budget of a single server tick, in nanoseconds.
+     */
+    public static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50L);
+
+    private final Map<String, TaskStats> stats = new ConcurrentHashMap<>();
+    private volatile boolean enabled = true;
+    private volatile long tickStart = 0L;
+
+    /**
+     * Checks whether tasks are currently being profiled.
+     *
+     * @return True if profiling is enabled, false otherwise.
+     */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables profiling.
+     *
+     * @param enabled Whether tasks should be profiled.
+     * @return This TaskProfiler instance for method chaining.
+     */
+    public @NotNull TaskProfiler enabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    /**
+     * Marks the start of a server tick, used to detect tick overruns.
+     */
+    public void tickStarted() {
+        this.tickStart = System.nanoTime();
+    }
+
+    /**
+     * Records a single run of a task.
+     *
+     * @param label The label of the task.
+     * @param start The {@link System#nanoTime()} the run started at.
+     * @param end   The {@link System#nanoTime()} the run ended at.
+     * @param sync  Whether the run happened on the main server thread.
+     */
+    public void record(@NotNull String label, long start, long end, boolean sync) {
+        long tickStart = this.tickStart;
+        boolean overrun = sync && tickStart != 0L && end - tickStart > TICK_NANOS && start - tickStart <= TICK_NANOS;
+
+        TaskStats stats = this.stats.get(label);
+        if (stats == null) stats = this.stats.computeIfAbsent(label, TaskStats::new);
+
+        stats.record(end - start, overrun);
+    }
+
+    /**
+     * Gets the statistics of a label.
+     *
+     * @param label The label of the tasks.
+     * @return The statistics, or null if no task with this label ran yet.
+     */
+    public @Nullable TaskStats stats(@NotNull String label) {
+        return stats.get(label);
+    }
+
+    /**
+     * Gets the statistics of every label.
+     *
+     * @return A copy of the statistics of every label.
+     */
+    public @NotNull Collection<TaskStats> stats() {
+        return new ArrayList<>(stats.values());
+    }
+
+    /**
+     * Gets the labels with the highest total wall time.
+     *
+     * @param limit The maximum number of labels to return.
+     * @return The statistics of the heaviest labels, heaviest first.
+     */
+    public @NotNull List<TaskStats> heaviest(int limit) {
+        return stats.values().stream()
+                .sorted(Comparator.comparingLong(TaskStats::totalNanos).reversed())
+                .limit(Math.max(0, limit))
+                .toList();
+    }
+
+    /**
+     * Builds a human-readable report of the heaviest labels, one line per label.
+     *
+     * @param limit The maximum number of labels to include.
+     * @return The report lines, heaviest first.
+     */
+    public @NotNull List<String> report(int limit) {
+        List<String> lines = new ArrayList<>();
+
+        for (TaskStats stats : heaviest(limit)) {
+            lines.add(stats.toString());
+        }
+
+        return lines;
+    }
+
+    /**
+     * Clears the statistics of every label.
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+    /**
+     * Derives a label from the class of a task, stripping lambda suffixes
+     * so that every lambda declared in the same class shares its label.
+     *
+     * @param task The task.
+     * @return The derived label.
+     */
+    public static @NotNull String label(@NotNull Object task) {
+        String name = task.getClass().getName();
+        int lambda = name.indexOf("$$Lambda");
+
+        return lambda == -1 ? name : name.substring(0, lambda);
+    }
+}
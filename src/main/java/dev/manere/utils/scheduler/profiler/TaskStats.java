@@ -0,0 +1,169 @@
+package dev.manere.utils.scheduler.profiler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution statistics of every task sharing a label.
+ * <P>
+ * Run times are recorded into a histogram of power-of-two microsecond buckets,
+ * which keeps recording lock-free and allocation-free.
+ */
+public class TaskStats {
+    private static final int BUCKETS = 32;
+
+    private final @NotNull String label;
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+    private final LongAdder overruns = new LongAdder();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Constructs a new, empty, TaskStats.
+     *
+     * @param label The label of the tasks.
+     */
+    public TaskStats(@NotNull String label) {
+        this.label = label;
+    }
+
+    /**
+     * Records a single run.
+     *
+     * @param nanos   The wall time of the run, in nanoseconds.
+     * @param overrun Whether the run pushed the current tick over its 50ms budget.
+     */
+    public void record(long nanos, boolean overrun) {
+        runs.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        if (overrun) overruns.increment();
+
+        histogram.incrementAndGet(bucket(nanos));
+    }
+
+    /**
+     * Gets the label of the tasks.
+     *
+     * @return The label.
+     */
+    public @NotNull String label() {
+        return label;
+    }
+
+    /**
+     * Gets how many times the tasks ran.
+     *
+     * @return The number of runs.
+     */
+    public long runs() {
+        return runs.sum();
+    }
+
+    /**
+     * Gets the total wall time of every run.
+     *
+     * @return The total wall time, in nanoseconds.
+     */
+    public long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Gets the wall time of the slowest run.
+     *
+     * @return The maximum wall time, in nanoseconds.
+     */
+    public long maxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Gets the average wall time of a run.
+     *
+     * @return The average wall time, in nanoseconds.
+     */
+    public long averageNanos() {
+        long runs = runs();
+        return runs == 0 ? 0L : totalNanos() / runs;
+    }
+
+    /**
+     * Gets how many runs pushed their tick over its 50ms budget.
+     *
+     * @return The number of tick overruns.
+     */
+    public long overruns() {
+        return overruns.sum();
+    }
+
+    /**
+     * Estimates a percentile of the wall time from the histogram.
+     * The estimate is the upper bound of the bucket the percentile falls in.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The estimated wall time, in nanoseconds.
+     */
+    public long percentileNanos(double percentile) {
+        long total = 0L;
+        long[] counts = new long[BUCKETS];
+
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+            total += counts[i];
+        }
+
+        if (total == 0L) return 0L;
+
+        long target = (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0);
+        long seen = 0L;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1L, target)) return TimeUnit.MICROSECONDS.toNanos(1L << i);
+        }
+
+        return maxNanos();
+    }
+
+    /**
+     * Clears every recorded run.
+     */
+    public void reset() {
+        runs.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        overruns.reset();
+
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.set(i, 0L);
+        }
+    }
+
+    /**
+     * Returns a single line summary of these statistics.
+     *
+     * @return The summary.
+     */
+    @Override
+    public @NotNull String toString() {
+        return String.format(
+                "%s: runs=%d total=%.2fms avg=%.3fms p99=%.3fms max=%.3fms overruns=%d",
+                label, runs(), millis(totalNanos()), millis(averageNanos()), millis(percentileNanos(99.0)), millis(maxNanos()), overruns()
+        );
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static int bucket(long nanos) {
+        long micros = nanos / 1_000L;
+        return micros <= 0L ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+}
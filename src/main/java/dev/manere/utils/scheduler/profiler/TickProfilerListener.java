@@ -0,0 +1,22 @@
+package dev.manere.utils.scheduler.profiler;
+
+import com.destroystokyo.paper.event.server.ServerTickStartEvent;
+import dev.manere.utils.scheduler.Schedulers;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+/**
+ * A listener feeding server tick starts to the {@link TaskProfiler}, used to detect tick overruns.
+ */
+public class TickProfilerListener implements Listener {
+    /**
+     * Handles the start of a server tick.
+     *
+     * @param event The ServerTickStartEvent to handle.
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onTickStart(ServerTickStartEvent event) {
+        Schedulers.profiler().tickStarted();
+    }
+}
@@ -1,6 +1,7 @@
 package dev.manere.utils.scheduler.stacker;
 
 import dev.manere.utils.scheduler.builder.SchedulerBuilder;
+import dev.manere.utils.scheduler.pipeline.SchedulerPipeline;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
@@ -11,6 +12,8 @@ import java.util.List;
  * SchedulerStacker is a utility class that allows the stacking of multiple {@link SchedulerBuilder} instances
  * for efficient execution of scheduled tasks. It provides methods to stack individual builders, a list of builders,
  * or an array of builders. The stacked builders can then be executed in sequence using the {@code execute} method.
+ * <P>
+ * The stacker has no notion of results or dependencies, use a {@link SchedulerPipeline} for that.
  */
 public class SchedulerStacker {
     private final @NotNull List<SchedulerBuilder> builders;
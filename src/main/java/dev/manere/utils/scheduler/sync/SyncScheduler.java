@@ -2,6 +2,7 @@ package dev.manere.utils.scheduler.sync;
 
 import dev.manere.utils.library.Utils;
 import dev.manere.utils.scheduler.SchedulerBase;
+import dev.manere.utils.scheduler.task.ScheduledTask;
 import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -17,48 +18,54 @@ public class SyncScheduler extends SchedulerBase {
      * {@inheritDoc}
      */
     @Override
-    public void execute(@NotNull Consumer<BukkitTask> task) {
-        scheduler().runTask(Utils.plugin(), task);
+    public @NotNull ScheduledTask execute(@NotNull Consumer<BukkitTask> task) {
+        ScheduledTask handle = new ScheduledTask(true, false);
+        return handle.bind(scheduler().runTask(Utils.plugin(), handle.wrap(task)));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void execute(@NotNull Runnable runnable) {
-        scheduler().runTask(Utils.plugin(), runnable);
+    public @NotNull ScheduledTask execute(@NotNull Runnable runnable) {
+        ScheduledTask handle = new ScheduledTask(true, false);
+        return handle.bind(scheduler().runTask(Utils.plugin(), handle.wrap(runnable)));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void execute(@NotNull Consumer<BukkitTask> task, int afterTicks) {
-        scheduler().runTaskLater(Utils.plugin(), task, afterTicks);
+    public @NotNull ScheduledTask execute(@NotNull Consumer<BukkitTask> task, int afterTicks) {
+        ScheduledTask handle = new ScheduledTask(true, false);
+        return handle.bind(scheduler().runTaskLater(Utils.plugin(), handle.wrap(task), afterTicks));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void execute(@NotNull Runnable runnable, int afterTicks) {
-        scheduler().runTaskLater(Utils.plugin(), runnable, afterTicks);
+    public @NotNull ScheduledTask execute(@NotNull Runnable runnable, int afterTicks) {
+        ScheduledTask handle = new ScheduledTask(true, false);
+        return handle.bind(scheduler().runTaskLater(Utils.plugin(), handle.wrap(runnable), afterTicks));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void execute(@NotNull Consumer<BukkitTask> task, int afterTicks, int everyTicks) {
-        scheduler().runTaskTimer(Utils.plugin(), task, afterTicks, everyTicks);
+    public @NotNull ScheduledTask execute(@NotNull Consumer<BukkitTask> task, int afterTicks, int everyTicks) {
+        ScheduledTask handle = new ScheduledTask(true, true);
+        return handle.bind(scheduler().runTaskTimer(Utils.plugin(), handle.wrap(task), afterTicks, everyTicks));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void execute(@NotNull Runnable runnable, int afterTicks, int everyTicks) {
-        scheduler().runTaskTimer(Utils.plugin(), runnable, afterTicks, everyTicks);
+    public @NotNull ScheduledTask execute(@NotNull Runnable runnable, int afterTicks, int everyTicks) {
+        ScheduledTask handle = new ScheduledTask(true, true);
+        return handle.bind(scheduler().runTaskTimer(Utils.plugin(), handle.wrap(runnable), afterTicks, everyTicks));
     }
 
     /**
@@ -76,4 +83,23 @@ public class SyncScheduler extends SchedulerBase {
     public <T> @Nullable T supply(@NotNull Supplier<T> supplier) {
         return supplier.get();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean sync() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected @NotNull BukkitTask schedule(@NotNull Runnable runnable, @Nullable Integer afterTicks, @Nullable Integer everyTicks) {
+        if (afterTicks == null) return scheduler().runTask(Utils.plugin(), runnable);
+        if (everyTicks == null) return scheduler().runTaskLater(Utils.plugin(), runnable, afterTicks);
+
+        return scheduler().runTaskTimer(Utils.plugin(), runnable, afterTicks, everyTicks);
+    }
 }
@@ -0,0 +1,235 @@
+package dev.manere.utils.scheduler.task;
+
+import dev.manere.utils.library.Utils;
+import dev.manere.utils.scheduler.Schedulers;
+import dev.manere.utils.scheduler.profiler.TaskProfiler;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * A handle to a task scheduled through the {@link Schedulers} layer.
+ * <P>
+ * The handle is also the {@link BukkitTask} passed to {@code Consumer<BukkitTask>} tasks,
+ * so cancelling from inside the task and cancelling from outside behave the same way.
+ * A handle can be assigned to an owner (a plugin, menu, player or any other key),
+ * which registers it in the {@link TaskRegistry} until the task finishes or is cancelled.
+ * Every run is recorded by the {@link TaskProfiler} under the label of the handle.
+ */
+public class ScheduledTask implements BukkitTask {
+    private final boolean sync;
+    private final boolean repeating;
+    private volatile @Nullable BukkitTask task;
+    private volatile boolean cancelled;
+    private volatile boolean done;
+    private @Nullable Object owner;
+    private volatile @Nullable String label;
+
+    /**
+     * Constructs a new, not yet bound, ScheduledTask.
+     *
+     * @param sync      Whether the task runs on the main server thread.
+     * @param repeating Whether the task repeats until cancelled.
+     */
+    public ScheduledTask(boolean sync, boolean repeating) {
+        this.sync = sync;
+        this.repeating = repeating;
+        this.task = null;
+        this.cancelled = false;
+        this.done = false;
+        this.owner = null;
+        this.label = null;
+    }
+
+    /**
+     * Wraps a runnable so that it is skipped once this handle is cancelled, so that every run
+     * is recorded by the {@link TaskProfiler}, and so that one-shot tasks leave their owner group once they ran.
+     *
+     * @param runnable The runnable to wrap.
+     * @return The wrapped runnable, to be handed to the Bukkit scheduler.
+     */
+    public @NotNull Runnable wrap(@NotNull Runnable runnable) {
+        return wrap(runnable, runnable);
+    }
+
+    /**
+     * Wraps a task consumer, passing this handle as the {@link BukkitTask}.
+     *
+     * @param task The task consumer to wrap.
+     * @return The wrapped runnable, to be handed to the Bukkit scheduler.
+     */
+    public @NotNull Runnable wrap(@NotNull Consumer<BukkitTask> task) {
+        return wrap(task, () -> task.accept(this));
+    }
+
+    private @NotNull Runnable wrap(@NotNull Object source, @NotNull Runnable runnable) {
+        if (label == null) label = TaskProfiler.label(source);
+
+        return () -> {
+            if (cancelled) return;
+
+            TaskProfiler profiler = Schedulers.profiler();
+            boolean profiled = profiler.enabled();
+            long start = profiled ? System.nanoTime() : 0L;
+
+            try {
+                runnable.run();
+            } finally {
+                if (profiled) profiler.record(label, start, System.nanoTime(), sync);
+                if (!repeating) finish();
+            }
+        };
+    }
+
+    /**
+     * Binds this handle to the underlying Bukkit task.
+     * If the handle was cancelled before being bound, the Bukkit task is cancelled right away.
+     *
+     * @param task The underlying Bukkit task.
+     * @return This ScheduledTask instance for method chaining.
+     */
+    public @NotNull ScheduledTask bind(@NotNull BukkitTask task) {
+        synchronized (this) {
+            this.task = task;
+        }
+
+        if (cancelled) task.cancel();
+        return this;
+    }
+
+    /**
+     * Gets the underlying Bukkit task.
+     *
+     * @return The underlying Bukkit task, or null if the handle is not bound yet.
+     */
+    public @Nullable BukkitTask task() {
+        return task;
+    }
+
+    /**
+     * Gets the owner this task is grouped under.
+     *
+     * @return The owner, or null if the task has no owner.
+     */
+    public synchronized @Nullable Object owner() {
+        return owner;
+    }
+
+    /**
+     * Groups this task under the given owner, moving it out of its previous group.
+     * Tasks that already finished are not registered.
+     *
+     * @param owner The owner to group this task under.
+     * @return This ScheduledTask instance for method chaining.
+     */
+    public synchronized @NotNull ScheduledTask owner(@NotNull Object owner) {
+        if (owner.equals(this.owner)) return this;
+        if (this.owner != null) Schedulers.tasks().unregister(this.owner, this);
+
+        this.owner = owner;
+        if (!done) Schedulers.tasks().register(owner, this);
+
+        return this;
+    }
+
+    /**
+     * Gets the label this task is profiled under.
+     *
+     * @return The label, or null if the task was not wrapped yet.
+     */
+    public @Nullable String label() {
+        return label;
+    }
+
+    /**
+     * Sets the label this task is profiled under, defaulting to the name of the class declaring the task.
+     *
+     * @param label The label to set.
+     * @return This ScheduledTask instance for method chaining.
+     */
+    public @NotNull ScheduledTask label(@NotNull String label) {
+        this.label = label;
+        return this;
+    }
+
+    /**
+     * Checks whether this task finished running or was cancelled.
+     *
+     * @return True if the task will not run again, false otherwise.
+     */
+    public boolean done() {
+        return done || isCancelled();
+    }
+
+    /**
+     * Checks whether this task repeats until cancelled.
+     *
+     * @return True if the task repeats, false otherwise.
+     */
+    public boolean repeating() {
+        return repeating;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getTaskId() {
+        BukkitTask task = this.task;
+        return task == null ? -1 : task.getTaskId();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull Plugin getOwner() {
+        BukkitTask task = this.task;
+        return task == null ? Utils.plugin() : task.getOwner();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isSync() {
+        return sync;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isCancelled() {
+        BukkitTask task = this.task;
+        return cancelled || (task != null && task.isCancelled());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cancel() {
+        BukkitTask task;
+
+        synchronized (this) {
+            if (cancelled) return;
+
+            this.cancelled = true;
+            task = this.task;
+        }
+
+        if (task != null) task.cancel();
+        finish();
+    }
+
+    private synchronized void finish() {
+        if (done) return;
+
+        this.done = true;
+        if (owner != null) Schedulers.tasks().unregister(owner, this);
+    }
+}
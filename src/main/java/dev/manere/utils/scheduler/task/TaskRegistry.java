@@ -0,0 +1,144 @@
+package dev.manere.utils.scheduler.task;
+
+import dev.manere.utils.scheduler.Schedulers;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A lightweight registry grouping {@link ScheduledTask}s by owner.
+ * <P>
+ * An owner can be anything with a stable {@code equals}/{@code hashCode}: a plugin, a menu, a player's UUID or an arbitrary key.
+ * Tasks leave their group automatically once they finished or were cancelled through their handle.
+ * Use {@link Schedulers#tasks()} to access the shared registry.
+ */
+public class TaskRegistry {
+    private final Map<Object, Set<ScheduledTask>> groups = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a task to the group of the given owner.
+     *
+     * @param owner The owner of the task.
+     * @param task  The task to add.
+     */
+    void register(@NotNull Object owner, @NotNull ScheduledTask task) {
+        groups.compute(owner, (key, group) -> {
+            if (group == null) group = ConcurrentHashMap.newKeySet();
+
+            group.add(task);
+            return group;
+        });
+    }
+
+    /**
+     * Removes a task from the group of the given owner, dropping the group once it is empty.
+     *
+     * @param owner The owner of the task.
+     * @param task  The task to remove.
+     */
+    void unregister(@NotNull Object owner, @NotNull ScheduledTask task) {
+        groups.computeIfPresent(owner, (key, group) -> {
+            group.remove(task);
+            return group.isEmpty() ? null : group;
+        });
+    }
+
+    /**
+     * Cancels every task grouped under the given owner.
+     *
+     * @param owner The owner whose tasks should be cancelled.
+     * @return The number of tasks that were cancelled.
+     */
+    public int cancel(@NotNull Object owner) {
+        Set<ScheduledTask> group = groups.remove(owner);
+        if (group == null) return 0;
+
+        int cancelled = 0;
+
+        for (ScheduledTask task : group) {
+            if (!task.isCancelled()) cancelled++;
+            task.cancel();
+        }
+
+        return cancelled;
+    }
+
+    /**
+     * Cancels every task of every owner.
+     *
+     * @return The number of tasks that were cancelled.
+     */
+    public int cancelAll() {
+        int cancelled = 0;
+
+        for (Object owner : groups.keySet()) {
+            cancelled += cancel(owner);
+        }
+
+        return cancelled;
+    }
+
+    /**
+     * Counts the live tasks of the given owner.
+     * Tasks cancelled directly through Bukkit are pruned while counting.
+     *
+     * @param owner The owner whose tasks should be counted.
+     * @return The number of live tasks of the owner.
+     */
+    public int count(@NotNull Object owner) {
+        Set<ScheduledTask> group = groups.get(owner);
+        if (group == null) return 0;
+
+        for (ScheduledTask task : group) {
+            if (task.done()) unregister(owner, task);
+        }
+
+        return group.size();
+    }
+
+    /**
+     * Counts the live tasks of every owner.
+     *
+     * @return The total number of live tasks.
+     */
+    public int count() {
+        int count = 0;
+
+        for (Object owner : groups.keySet()) {
+            count += count(owner);
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets a snapshot of the live tasks of the given owner.
+     *
+     * @param owner The owner whose tasks should be returned.
+     * @return A copy of the tasks of the owner.
+     */
+    public @NotNull Set<ScheduledTask> tasks(@NotNull Object owner) {
+        Set<ScheduledTask> group = groups.get(owner);
+        if (group == null) return new HashSet<>();
+
+        Set<ScheduledTask> tasks = new HashSet<>();
+
+        for (ScheduledTask task : group) {
+            if (!task.done()) tasks.add(task);
+        }
+
+        return tasks;
+    }
+
+    /**
+     * Gets a snapshot of every owner that currently has tasks.
+     *
+     * @return A copy of the registered owners.
+     */
+    public @NotNull Set<Object> owners() {
+        return new HashSet<>(groups.keySet());
+    }
+}
@@ -0,0 +1,298 @@
+package dev.manere.utils.scheduler.wheel;
+
+import dev.manere.utils.library.Utils;
+import dev.manere.utils.scheduler.Schedulers;
+import dev.manere.utils.scheduler.task.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+
+/**
+ * A hashed timing wheel for large amounts of short, one-shot, synchronous timers
+ * (cooldown expiries, combat-tag timeouts, temporary effects, ...).
+ * <P>
+ * Instead of one Bukkit task per timer, every timer is bucketed by the tick it is due on,
+ * and a single repeating task advances the wheel by one bucket per tick. Scheduling and
+ * cancelling are O(1). Timers are stored in pooled, array-backed nodes and identified by
+ * a {@code long} handle, so scheduling a timer does not allocate once the pool has grown.
+ * <P>
+ * The wheel runs on the main server thread and must only be used from it.
+ * The driving task is started on the first schedule and stops once the wheel is empty.
+ */
+public class TimingWheel {
+    /**
+     * A timer handle that never refers to a scheduled timer.
+     */
+    public static final long NONE = 0L;
+
+    private static final int NIL = -1;
+
+    private final int mask;
+    private final int[] heads;
+
+    private Runnable[] tasks;
+    private long[] deadlines;
+    private int[] generations;
+    private int[] next;
+    private int[] prev;
+    private int[] buckets;
+    private int free;
+
+    private int[] due;
+    private int[] dueGenerations;
+
+    private long tick;
+    private int size;
+    private @Nullable ScheduledTask driver;
+
+    /**
+     * Constructs a new TimingWheel with 512 buckets.
+     */
+    public TimingWheel() {
+        this(512, 1024);
+    }
+
+    /**
+     * Constructs a new TimingWheel.
+     *
+     * @param buckets  The number of buckets (rounded up to a power of two). Timers further away than this
+     *                 many ticks are kept in their bucket until the wheel comes around to their tick.
+     * @param capacity The initial number of pooled timer nodes.
+     */
+    public TimingWheel(int buckets, int capacity) {
+        if (buckets < 1) throw new IllegalArgumentException("buckets must be positive");
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive");
+
+        int wheelSize = Integer.highestOneBit(buckets - 1 == 0 ? 1 : (buckets - 1) << 1);
+
+        this.mask = wheelSize - 1;
+        this.heads = new int[wheelSize];
+        Arrays.fill(heads, NIL);
+
+        this.tasks = new Runnable[0];
+        this.deadlines = new long[0];
+        this.generations = new int[0];
+        this.next = new int[0];
+        this.prev = new int[0];
+        this.buckets = new int[0];
+        this.free = NIL;
+        grow(capacity);
+
+        this.due = new int[64];
+        this.dueGenerations = new int[64];
+        this.tick = 0L;
+        this.size = 0;
+        this.driver = null;
+    }
+
+    /**
+     * Schedules a runnable to run on the main server thread after the given number of ticks.
+     *
+     * @param runnable   The runnable to run.
+     * @param afterTicks The number of ticks to wait, values below 1 run on the next tick.
+     * @return The handle of the timer, to be used with {@link #cancel(long)}.
+     * @throws IllegalStateException if called from outside the main server thread.
+     */
+    public long schedule(@NotNull Runnable runnable, int afterTicks) {
+        if (!Bukkit.isPrimaryThread()) {
+            throw new IllegalStateException("TimingWheel must be used from the main server thread");
+        }
+
+        if (free == NIL) grow(tasks.length << 1);
+
+        int node = free;
+        free = next[node];
+
+        long deadline = tick + Math.max(1, afterTicks);
+        int bucket = (int) (deadline & mask);
+
+        tasks[node] = runnable;
+        deadlines[node] = deadline;
+        buckets[node] = bucket;
+        link(node, bucket);
+        size++;
+
+        start();
+        return handle(node, generations[node]);
+    }
+
+    /**
+     * Cancels a timer.
+     *
+     * @param timer The handle returned by {@link #schedule(Runnable, int)}.
+     * @return True if the timer was pending and is now cancelled, false if it already ran or was cancelled.
+     */
+    public boolean cancel(long timer) {
+        int node = node(timer);
+        if (node == NIL) return false;
+
+        if (buckets[node] != NIL) unlink(node);
+        release(node);
+        return true;
+    }
+
+    /**
+     * Checks whether a timer is still pending.
+     *
+     * @param timer The handle returned by {@link #schedule(Runnable, int)}.
+     * @return True if the timer has neither run nor been cancelled yet.
+     */
+    public boolean scheduled(long timer) {
+        return node(timer) != NIL;
+    }
+
+    /**
+     * Gets the number of ticks left before a timer runs.
+     *
+     * @param timer The handle returned by {@link #schedule(Runnable, int)}.
+     * @return The remaining ticks, or -1 if the timer is not pending.
+     */
+    public long remaining(long timer) {
+        int node = node(timer);
+        return node == NIL ? -1 : Math.max(0, deadlines[node] - tick);
+    }
+
+    /**
+     * Gets the number of pending timers.
+     *
+     * @return The number of pending timers.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Advances the wheel by one tick, running every timer due on it.
+     * This is called by the driving task and should not be called manually.
+     */
+    public void tick() {
+        tick++;
+
+        int bucket = (int) (tick & mask);
+        int dueCount = 0;
+
+        // Unlink everything due first, so timers may schedule or cancel other timers while running
+        for (int node = heads[bucket]; node != NIL; ) {
+            int following = next[node];
+
+            if (deadlines[node] <= tick) {
+                unlink(node);
+
+                if (dueCount == due.length) {
+                    due = Arrays.copyOf(due, dueCount << 1);
+                    dueGenerations = Arrays.copyOf(dueGenerations, dueCount << 1);
+                }
+
+                due[dueCount] = node;
+                dueGenerations[dueCount] = generations[node];
+                dueCount++;
+            }
+
+            node = following;
+        }
+
+        for (int i = 0; i < dueCount; i++) {
+            int node = due[i];
+            if (generations[node] != dueGenerations[i]) continue;
+
+            Runnable runnable = tasks[node];
+            release(node);
+
+            try {
+                runnable.run();
+            } catch (Throwable throwable) {
+                Utils.plugin().getLogger().log(Level.SEVERE, "A timing wheel timer threw an exception", throwable);
+            }
+        }
+
+        if (size == 0) stop();
+    }
+
+    private void start() {
+        ScheduledTask driver = this.driver;
+        if (driver != null && !driver.isCancelled()) return;
+
+        this.driver = Schedulers.sync().execute(this::tick, 1, 1);
+    }
+
+    private void stop() {
+        ScheduledTask driver = this.driver;
+        if (driver == null) return;
+
+        driver.cancel();
+        this.driver = null;
+    }
+
+    private int node(long timer) {
+        int node = (int) timer;
+        int generation = (int) (timer >>> 32);
+
+        if (node < 0 || node >= tasks.length) return NIL;
+        if (generations[node] != generation || tasks[node] == null) return NIL;
+
+        return node;
+    }
+
+    private static long handle(int node, int generation) {
+        return ((long) generation << 32) | (node & 0xFFFFFFFFL);
+    }
+
+    private void link(int node, int bucket) {
+        int head = heads[bucket];
+
+        prev[node] = NIL;
+        next[node] = head;
+        if (head != NIL) prev[head] = node;
+
+        heads[bucket] = node;
+    }
+
+    private void unlink(int node) {
+        int before = prev[node];
+        int after = next[node];
+
+        if (before == NIL) {
+            heads[buckets[node]] = after;
+        } else {
+            next[before] = after;
+        }
+
+        if (after != NIL) prev[after] = before;
+
+        buckets[node] = NIL;
+    }
+
+    private void release(int node) {
+        tasks[node] = null;
+        buckets[node] = NIL;
+
+        // Generations start at 1 and skip 0, so a handle is never equal to NONE
+        int generation = generations[node] + 1;
+        generations[node] = generation == 0 ? 1 : generation;
+
+        next[node] = free;
+        free = node;
+        size--;
+    }
+
+    private void grow(int capacity) {
+        int old = tasks.length;
+
+        tasks = Arrays.copyOf(tasks, capacity);
+        deadlines = Arrays.copyOf(deadlines, capacity);
+        generations = Arrays.copyOf(generations, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        buckets = Arrays.copyOf(buckets, capacity);
+
+        for (int node = capacity - 1; node >= old; node--) {
+            generations[node] = 1;
+            buckets[node] = NIL;
+            next[node] = free;
+            free = node;
+        }
+    }
+}
@@ -9,11 +9,22 @@ import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class Sidebar extends SidebarHandler<Component> {
     private static final MethodHandle COMPONENT_METHOD;
     private static final Object EMPTY_COMPONENT;
     private static final boolean ADVENTURE_SUPPORT;
+    private static final int CONVERSION_CACHE_SIZE = 1024;
+
+    // Components are immutable, so a conversion stays valid for as long as the same component is sent
+    private static final ConversionCache CONVERSIONS = new ConversionCache(CONVERSION_CACHE_SIZE);
 
     static {
         ADVENTURE_SUPPORT = ReflectionUtils.optionalClass("io.papermc.paper.adventure.PaperAdventure").isPresent();
@@ -36,6 +47,13 @@ public class Sidebar extends SidebarHandler<Component> {
         }
     }
 
+    // The conversions of what this sidebar displays, kept for as long as it is displayed whatever the shared cache evicts.
+    // Created lazily, as the title is converted by the super constructor, before field initializers run
+    private Map<Component, Object> displayed;
+
+    // Conversions owned by someone else, such as the frames of an animation, looked up by identity
+    private volatile Map<Component, Object> pinned;
+
     /**
      * Lightweight packet-based scoreboard API for Bukkit plugins.
      * Basically the same as FastBoard. It's literally using the code of it, it's just made a tiny bit prettier.
@@ -48,6 +66,16 @@ public class Sidebar extends SidebarHandler<Component> {
         return new Sidebar(player);
     }
 
+    /**
+     * Uses conversions made ahead of time by {@link #preload(Collection)}, such as the frames of an animation,
+     * instead of converting those components when they are shown. Replaces the previously pinned conversions.
+     *
+     * @param conversions the conversions, or null to remove them
+     */
+    public void pin(Map<Component, Object> conversions) {
+        this.pinned = conversions;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -58,16 +86,104 @@ public class Sidebar extends SidebarHandler<Component> {
         sendTeamPacket(score, SidebarHandler.TeamMode.UPDATE, line, null);
     }
 
+    /**
+     * {@inheritDoc}
+     * <P>
+     * Each sidebar keeps the conversions of the title and lines it displays, so a displayed line is never converted again,
+     * however many other lines change. Other conversions go through a shared cache, looked up by identity first
+     * and then by equality, so lines shared by many sidebars are usually only converted once.
+     */
     @Override
     protected Object toMinecraftComponent(Component component) throws Throwable {
         if (component == null) {
             return EMPTY_COMPONENT;
         }
 
+        Map<Component, Object> pinned = this.pinned;
+        Object converted = pinned == null ? null : pinned.get(component);
+
+        if (converted != null) {
+            return converted;
+        }
+
+        if (this.displayed == null) {
+            this.displayed = new HashMap<>();
+        }
+
+        converted = this.displayed.get(component);
+
+        if (converted == null) {
+            converted = convert(component);
+            this.displayed.put(component, converted);
+        }
+
+        return converted;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <P>
+     * Forgets the conversions of the title and lines that are no longer displayed.
+     */
+    @Override
+    protected void sent(Component title, List<Component> lines) {
+        Map<Component, Object> displayed = new HashMap<>();
+
+        keep(displayed, title);
+
+        for (Component line : lines) {
+            keep(displayed, line);
+        }
+
+        this.displayed = displayed;
+    }
+
+    private void keep(Map<Component, Object> displayed, Component component) {
+        Object converted = component == null || this.displayed == null ? null : this.displayed.get(component);
+
+        if (converted != null) {
+            displayed.put(component, converted);
+        }
+    }
+
+    /**
+     * Converts components to Minecraft components ahead of time, such as the frames of an animation.
+     * The conversions are owned by the caller and not by the shared cache, so they are never evicted:
+     * once {@link #pin(Map) pinned} to a sidebar, showing these exact components never converts them again.
+     *
+     * @param components the components to convert
+     * @return the conversions, looked up by identity
+     */
+    public static Map<Component, Object> preload(Collection<Component> components) {
+        Map<Component, Object> conversions = new IdentityHashMap<>(components.size());
+
+        try {
+            for (Component component : components) {
+                conversions.put(component, convertUncached(component));
+            }
+        } catch (Throwable t) {
+            throw new RuntimeException("Unable to convert components", t);
+        }
+
+        return Collections.unmodifiableMap(conversions);
+    }
+
+    private static Object convert(Component component) throws Throwable {
+        Object converted = CONVERSIONS.get(component);
+
+        if (converted == null) {
+            converted = convertUncached(component);
+            CONVERSIONS.put(component, converted);
+        }
+
+        return converted;
+    }
+
+    private static Object convertUncached(Component component) throws Throwable {
         // If the server isn't running adventure natively, we convert the component to legacy text
         // and then to a Minecraft chat component
         if (!ADVENTURE_SUPPORT) {
-            String legacy = serializeLine(component);
+            String legacy = LegacyComponentSerializer.legacySection().serialize(component);
 
             return Array.get(COMPONENT_METHOD.invoke(legacy), 0);
         }
@@ -84,4 +200,59 @@ public class Sidebar extends SidebarHandler<Component> {
     protected Component emptyLine() {
         return Component.empty();
     }
+
+    /**
+     * A bounded, least recently used, cache of converted components.
+     * Identity lookups skip computing the hash code of the component, which walks the whole component tree.
+     */
+    private static final class ConversionCache {
+        private final Map<IdentityKey, Object> byIdentity;
+        private final Map<Component, Object> byEquality;
+
+        ConversionCache(int maxSize) {
+            this.byIdentity = lru(maxSize);
+            this.byEquality = lru(maxSize);
+        }
+
+        synchronized Object get(Component component) {
+            IdentityKey key = new IdentityKey(component);
+            Object converted = this.byIdentity.get(key);
+
+            if (converted == null) {
+                converted = this.byEquality.get(component);
+
+                if (converted != null) {
+                    this.byIdentity.put(key, converted);
+                }
+            }
+
+            return converted;
+        }
+
+        synchronized void put(Component component, Object converted) {
+            this.byIdentity.put(new IdentityKey(component), converted);
+            this.byEquality.put(component, converted);
+        }
+
+        private static <K> Map<K, Object> lru(int maxSize) {
+            return new LinkedHashMap<>(16, 0.75F, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Object> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+    }
+
+    private record IdentityKey(Component component) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof IdentityKey key && key.component == this.component;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.component);
+        }
+    }
 }
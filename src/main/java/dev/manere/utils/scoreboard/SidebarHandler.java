@@ -1,6 +1,8 @@
 package dev.manere.utils.scoreboard;
 
+import dev.manere.utils.library.Utils;
 import dev.manere.utils.reflection.ReflectionUtils;
+import dev.manere.utils.scheduler.Schedulers;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 
@@ -11,15 +13,21 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.logging.Level;
 import java.util.stream.Stream;
 
 /**
  * Lightweight packet-based scoreboard API for Bukkit plugins.
  * Basically the same as FastBoard. It's literally using the code of it, it's just made a tiny bit prettier.
+ * <P>
+ * Packet fields are resolved once, when the class is initialized, into setters bound to a packet class, field type
+ * and ordinal, so building a packet does not scan the fields of its class.
  */
 public abstract class SidebarHandler<S> {
-    private static final Map<Class<?>, Field[]> PACKETS = new HashMap<>(8);
 
     /**
      * Please ignore the fact that ChatColor is deprecated. It's required.
@@ -47,6 +55,38 @@ public abstract class SidebarHandler<S> {
     private static final Object ENUM_SB_HEALTH_DISPLAY_INTEGER;
     private static final Object ENUM_SB_ACTION_CHANGE;
     private static final Object ENUM_SB_ACTION_REMOVE;
+    private static final MethodHandle BUNDLE_PACKET;
+    private static final NettyAccess NETTY;
+    private static final ScheduledThreadPoolExecutor WORKER;
+
+    // Objective packet
+    private static final FieldWriter OBJECTIVE_NAME;
+    private static final FieldWriter OBJECTIVE_MODE;
+    private static final FieldWriter OBJECTIVE_DISPLAY_NAME;
+    private static final FieldWriter OBJECTIVE_RENDER_TYPE;
+    private static final FieldWriter OBJECTIVE_LEGACY_DISPLAY_NAME;
+
+    // Display objective packet
+    private static final FieldWriter DISPLAY_POSITION;
+    private static final FieldWriter DISPLAY_OBJECTIVE_NAME;
+
+    // Score packet
+    private static final FieldWriter SCORE_PLAYER_NAME;
+    private static final FieldWriter SCORE_ACTION;
+    private static final FieldWriter SCORE_OBJECTIVE_NAME;
+    private static final FieldWriter SCORE_VALUE;
+
+    // Team packet, and its serializable team on 1.17+
+    private static final FieldWriter TEAM_NAME;
+    private static final FieldWriter TEAM_MODE;
+    private static final FieldWriter TEAM_PARAMETERS;
+    private static final FieldWriter TEAM_PLAYERS;
+    private static final FieldWriter TEAM_DISPLAY_NAME;
+    private static final FieldWriter TEAM_COLOR;
+    private static final FieldWriter TEAM_PREFIX;
+    private static final FieldWriter TEAM_SUFFIX;
+    private static final FieldWriter TEAM_VISIBILITY;
+    private static final FieldWriter TEAM_COLLISIONS;
 
     static {
         try {
@@ -99,21 +139,13 @@ public abstract class SidebarHandler<S> {
             PACKET_SB_TEAM = ReflectionUtils.findPacketConstructor(packetSbTeamClass, lookup);
             PACKET_SB_SERIALIZABLE_TEAM = sbTeamClass == null ? null : ReflectionUtils.findPacketConstructor(sbTeamClass, lookup);
 
-            for (Class<?> clazz : Arrays.asList(packetSbObjClass, packetSbDisplayObjClass, packetSbScoreClass, packetSbTeamClass, sbTeamClass)) {
-                if (clazz == null) {
-                    continue;
-                }
-
-                Field[] fields = Arrays.stream(clazz.getDeclaredFields())
-                        .filter(field -> !Modifier.isStatic(field.getModifiers()))
-                        .toArray(Field[]::new);
+            NETTY = NettyAccess.resolve(lookup, playerConnectionClass);
 
-                for (Field field : fields) {
-                    field.setAccessible(true);
-                }
-
-                PACKETS.put(clazz, fields);
-            }
+            // Bundle packets (1.19.4+) make the client apply every packet of a flush in the same frame
+            Optional<Class<?>> bundlePacketClass = ReflectionUtils.nmsOptionalClass(gameProtocolPackage, "ClientboundBundlePacket");
+            BUNDLE_PACKET = bundlePacketClass.isPresent()
+                    ? lookup.findConstructor(bundlePacketClass.get(), MethodType.methodType(void.class, Iterable.class))
+                    : null;
 
             if (VersionType.V1_8.isHigherOrEqual()) {
                 String enumSbActionClass = VersionType.V1_13.isHigherOrEqual()
@@ -132,9 +164,49 @@ public abstract class SidebarHandler<S> {
                 ENUM_SB_ACTION_CHANGE = null;
                 ENUM_SB_ACTION_REMOVE = null;
             }
+
+            boolean components = VersionType.V1_13.isHigherOrEqual();
+            boolean serializableTeam = VersionType.V1_17.isHigherOrEqual();
+            Class<?> teamClass = serializableTeam ? sbTeamClass : packetSbTeamClass;
+
+            OBJECTIVE_NAME = FieldWriter.of(lookup, packetSbObjClass, String.class, 0);
+            OBJECTIVE_MODE = FieldWriter.of(lookup, packetSbObjClass, int.class, 0);
+            OBJECTIVE_DISPLAY_NAME = FieldWriter.component(lookup, packetSbObjClass, 1, components);
+            OBJECTIVE_RENDER_TYPE = FieldWriter.of(lookup, packetSbObjClass, ENUM_SB_HEALTH_DISPLAY, 0);
+            OBJECTIVE_LEGACY_DISPLAY_NAME = FieldWriter.of(lookup, packetSbObjClass, String.class, 1);
+
+            DISPLAY_POSITION = FieldWriter.of(lookup, packetSbDisplayObjClass, DISPLAY_SLOT_TYPE, 0);
+            DISPLAY_OBJECTIVE_NAME = FieldWriter.of(lookup, packetSbDisplayObjClass, String.class, 0);
+
+            SCORE_PLAYER_NAME = FieldWriter.of(lookup, packetSbScoreClass, String.class, 0);
+            SCORE_ACTION = VersionType.V1_8.isHigherOrEqual()
+                    ? FieldWriter.of(lookup, packetSbScoreClass, ENUM_SB_ACTION, 0)
+                    : FieldWriter.of(lookup, packetSbScoreClass, int.class, 1);
+            SCORE_OBJECTIVE_NAME = FieldWriter.of(lookup, packetSbScoreClass, String.class, 1);
+            SCORE_VALUE = FieldWriter.of(lookup, packetSbScoreClass, int.class, 0);
+
+            TEAM_NAME = FieldWriter.of(lookup, packetSbTeamClass, String.class, 0);
+            TEAM_MODE = FieldWriter.of(lookup, packetSbTeamClass, int.class, VERSION_TYPE == VersionType.V1_8 ? 1 : 0);
+            TEAM_PARAMETERS = FieldWriter.of(lookup, packetSbTeamClass, Optional.class, 0);
+            TEAM_PLAYERS = FieldWriter.of(lookup, packetSbTeamClass, Collection.class, 0);
+            TEAM_DISPLAY_NAME = FieldWriter.component(lookup, teamClass, 0, components);
+            TEAM_COLOR = FieldWriter.of(lookup, teamClass, CHAT_FORMAT_ENUM, 0);
+            TEAM_PREFIX = FieldWriter.component(lookup, teamClass, serializableTeam ? 1 : 2, components);
+            TEAM_SUFFIX = FieldWriter.component(lookup, teamClass, serializableTeam ? 2 : 3, components);
+            TEAM_VISIBILITY = FieldWriter.of(lookup, teamClass, String.class, serializableTeam ? 0 : 4); // Visibility for 1.8+
+            TEAM_COLLISIONS = FieldWriter.of(lookup, teamClass, String.class, serializableTeam ? 1 : 5); // Collisions for 1.9+
         } catch (Throwable t) {
             throw new ExceptionInInitializerError(t);
         }
+
+        WORKER = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "utils-sidebar");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        WORKER.setKeepAliveTime(60L, TimeUnit.SECONDS);
+        WORKER.allowCoreThreadTimeOut(true);
     }
 
     private final Player player;
@@ -143,7 +215,27 @@ public abstract class SidebarHandler<S> {
     private final List<S> lines = new ArrayList<>();
     private S title = emptyLine();
 
-    private boolean deleted = false;
+    // Incremented on every change, so a flush knows whether what it sent is still current
+    private long version = 0;
+
+    // Held while building and sending packets, taken before the monitor of this sidebar and never after it,
+    // so changes made on the main thread only wait for the snapshot of a flush, not for its packets
+    private final Object flushLock = new Object();
+
+    // What the client last received, changes are diffed against it. Guarded by the flush lock
+    private List<S> sentLines = new ArrayList<>();
+    private S sentTitle = this.title;
+    private long sentVersion = 0;
+    private List<S> sending;
+
+    private boolean buffered = false;
+    private boolean flushScheduled = false;
+    private List<Object> bundle;
+
+    private volatile boolean async = false;
+    private Object channel;
+
+    private volatile boolean deleted = false;
 
     /**
      * Creates a new scoreboard handler for the given player.
@@ -177,17 +269,16 @@ public abstract class SidebarHandler<S> {
      * @param title the new title text
      */
     public void updateTitle(S title) {
-        if (this.title.equals(Objects.requireNonNull(title, "title"))) {
-            return;
-        }
-
-        this.title = title;
+        synchronized (this) {
+            if (this.title.equals(Objects.requireNonNull(title, "title"))) {
+                return;
+            }
 
-        try {
-            sendObjectivePacket(ObjectiveMode.UPDATE);
-        } catch (Throwable t) {
-            throw new RuntimeException("Unable to update scoreboard title", t);
+            this.title = title;
+            if (!changed()) return;
         }
+
+        flush();
     }
 
     /**
@@ -219,31 +310,24 @@ public abstract class SidebarHandler<S> {
      * @param text the new text for the line
      * @throws IllegalArgumentException if line is out of bounds
      */
-    public synchronized void updateLine(int line, S text) {
-        checkLineNumber(line, false, true);
+    public void updateLine(int line, S text) {
+        synchronized (this) {
+            checkLineNumber(line, false, true);
 
-        try {
             if (line < size()) {
                 this.lines.set(line, text);
-
-                sendLineChange(scoreByLine(line));
-                return;
-            }
-
-            List<S> newLines = new ArrayList<>(this.lines);
-
-            if (line > size()) {
+            } else {
                 for (int i = size(); i < line; i++) {
-                    newLines.add(emptyLine());
+                    this.lines.add(emptyLine());
                 }
-            }
 
-            newLines.add(text);
+                this.lines.add(text);
+            }
 
-            updateLines(newLines);
-        } catch (Throwable t) {
-            throw new RuntimeException("Unable to update scoreboard lines", t);
+            if (!changed()) return;
         }
+
+        flush();
     }
 
     /**
@@ -252,16 +336,19 @@ public abstract class SidebarHandler<S> {
      * @param line the line number
      * @throws IllegalArgumentException if line is out of bounds
      */
-    public synchronized void removeLine(int line) {
-        checkLineNumber(line, false, false);
+    public void removeLine(int line) {
+        synchronized (this) {
+            checkLineNumber(line, false, false);
 
-        if (line >= size()) {
-            return;
+            if (line >= size()) {
+                return;
+            }
+
+            this.lines.remove(line);
+            if (!changed()) return;
         }
 
-        List<S> newLines = new ArrayList<>(this.lines);
-        newLines.remove(line);
-        updateLines(newLines);
+        flush();
     }
 
     /**
@@ -279,42 +366,219 @@ public abstract class SidebarHandler<S> {
      *
      * @param lines the new contents of the scoreboard
      */
-    public synchronized void updateLines(Collection<S> lines) {
+    public void updateLines(Collection<S> lines) {
         Objects.requireNonNull(lines, "lines");
-        checkLineNumber(lines.size(), false, true);
 
-        List<S> oldLines = new ArrayList<>(this.lines);
-        this.lines.clear();
-        this.lines.addAll(lines);
+        synchronized (this) {
+            checkLineNumber(lines.size(), false, true);
 
-        int linesSize = this.lines.size();
+            this.lines.clear();
+            this.lines.addAll(lines);
 
-        try {
-            if (oldLines.size() != linesSize) {
-                List<S> oldLinesCopy = new ArrayList<>(oldLines);
+            if (!changed()) return;
+        }
 
-                if (oldLines.size() > linesSize) {
-                    for (int i = oldLinesCopy.size(); i > linesSize; i--) {
-                        sendTeamPacket(i - 1, TeamMode.REMOVE);
-                        sendScorePacket(i - 1, ScoreboardAction.REMOVE);
+        flush();
+    }
 
-                        oldLines.remove(0);
-                    }
-                } else {
-                    for (int i = oldLinesCopy.size(); i < linesSize; i++) {
-                        sendScorePacket(i, ScoreboardAction.CHANGE);
-                        sendTeamPacket(i, TeamMode.CREATE, null, null);
-                    }
+    /**
+     * Updates the title and all lines in the scoreboard at once, sending a single set of changes.
+     *
+     * @param title the new title text
+     * @param lines the new contents of the scoreboard
+     */
+    public void update(S title, Collection<S> lines) {
+        Objects.requireNonNull(title, "title");
+        Objects.requireNonNull(lines, "lines");
+
+        synchronized (this) {
+            checkLineNumber(lines.size(), false, true);
+
+            this.title = title;
+            this.lines.clear();
+            this.lines.addAll(lines);
+
+            if (!changed()) return;
+        }
+
+        flush();
+    }
+
+    /**
+     * Checks if changes to this scoreboard are buffered.
+     *
+     * @return true if changes are buffered, false if they are sent right away
+     */
+    public boolean isBuffered() {
+        return this.buffered;
+    }
+
+    /**
+     * Sets whether changes to this scoreboard are buffered.
+     * <P>
+     * Buffered changes are only applied locally, then diffed against what the client last received
+     * and flushed once per tick: a line changed several times in a tick is sent once, and a line changed back
+     * to what the client already shows is not sent at all. Every packet of a flush is sent in a single bundle
+     * on versions supporting bundle packets. Disabling buffering flushes pending changes right away.
+     *
+     * @param buffered whether changes are buffered
+     */
+    public void buffered(boolean buffered) {
+        synchronized (this) {
+            this.buffered = buffered;
+        }
+
+        if (!buffered) {
+            flush();
+        }
+    }
+
+    /**
+     * Checks if packets of this scoreboard are built off the main thread.
+     *
+     * @return true if packets are built asynchronously, false otherwise
+     */
+    public boolean isAsync() {
+        return this.async;
+    }
+
+    /**
+     * Sets whether packets of this scoreboard are built off the main thread.
+     * <P>
+     * Asynchronous changes are flushed by a shared worker thread instead of the thread that made them,
+     * which then only updates the local state. The worker writes the packets of a flush straight to the
+     * Netty channel of the player and flushes it once. Buffered asynchronous changes are flushed a tick after the first change.
+     * If the channel of players cannot be resolved on this server version, packets are built on the worker
+     * and sent through the player connection instead.
+     *
+     * @param async whether packets are built asynchronously
+     */
+    public synchronized void async(boolean async) {
+        this.async = async;
+    }
+
+    /**
+     * Sends the changes the client has not received yet, if any.
+     * Buffered scoreboards are flushed automatically on the next tick after a change.
+     * <P>
+     * Only the title and lines are read while holding this sidebar, packets are built and sent after releasing it,
+     * so a flush running on the worker never makes the main thread wait for it when changing the sidebar.
+     */
+    public void flush() {
+        synchronized (this.flushLock) {
+            S title;
+            List<S> lines;
+            long version;
+
+            synchronized (this) {
+                this.flushScheduled = false;
+
+                if (this.deleted || this.version == this.sentVersion) {
+                    return;
                 }
+
+                title = this.title;
+                lines = new ArrayList<>(this.lines);
+                version = this.version;
             }
 
-            for (int i = 0; i < linesSize; i++) {
-                if (!Objects.equals(lineByScore(oldLines, i), lineByScore(i))) {
-                    sendLineChange(i);
+            boolean titleChanged = !this.sentTitle.equals(title);
+
+            if (!titleChanged && this.sentLines.equals(lines)) {
+                this.sentVersion = version;
+                return;
+            }
+
+            this.bundle = new ArrayList<>();
+            this.sending = lines;
+
+            try {
+                if (titleChanged) {
+                    sendObjectivePacket(ObjectiveMode.UPDATE, title);
                 }
+
+                sendLineChanges(this.sentLines, lines);
+
+                List<Object> packets = this.bundle;
+                this.bundle = null;
+                sendBundle(packets);
+
+                // Changes made meanwhile have a newer version, and scheduled their own flush
+                this.sentTitle = title;
+                this.sentLines = lines;
+                this.sentVersion = version;
+
+                sent(title, lines);
+            } catch (Throwable t) {
+                throw new RuntimeException("Unable to update scoreboard", t);
+            } finally {
+                this.bundle = null;
+                this.sending = null;
+            }
+        }
+    }
+
+    /**
+     * Records a change made while holding this sidebar, and schedules its flush.
+     *
+     * @return true if the caller must flush right away, once it released this sidebar
+     */
+    private boolean changed() {
+        if (this.deleted) {
+            throw new IllegalStateException("This sidebar is deleted");
+        }
+
+        this.version++;
+
+        if (!this.buffered && !this.async) {
+            return true;
+        }
+
+        if (this.flushScheduled) {
+            return false;
+        }
+
+        this.flushScheduled = true;
+
+        if (!this.async) {
+            Schedulers.handoff().publish(this::flush);
+        } else if (this.buffered) {
+            WORKER.schedule(this::flushAsync, 50L, TimeUnit.MILLISECONDS);
+        } else {
+            WORKER.execute(this::flushAsync);
+        }
+
+        return false;
+    }
+
+    private void flushAsync() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            Utils.plugin().getLogger().log(Level.SEVERE, "Unable to update the sidebar of " + this.player.getName(), e);
+        }
+    }
+
+    private void sendLineChanges(List<S> oldLines, List<S> lines) throws Throwable {
+        int oldSize = oldLines.size();
+        int linesSize = lines.size();
+
+        if (oldSize > linesSize) {
+            for (int i = oldSize; i > linesSize; i--) {
+                sendTeamPacket(i - 1, TeamMode.REMOVE);
+                sendScorePacket(i - 1, ScoreboardAction.REMOVE);
+            }
+        } else {
+            for (int i = oldSize; i < linesSize; i++) {
+                sendScorePacket(i, ScoreboardAction.CHANGE);
+                sendTeamPacket(i, TeamMode.CREATE, null, null);
+            }
+        }
+
+        for (int i = 0; i < linesSize; i++) {
+            if (!Objects.equals(lineByScore(oldLines, i), lineByScore(lines, i))) {
+                sendLineChange(i);
             }
-        } catch (Throwable t) {
-            throw new RuntimeException("Unable to update scoreboard lines", t);
         }
     }
 
@@ -358,17 +622,21 @@ public abstract class SidebarHandler<S> {
      * Deletes this scoreboard, removing it from the client.
      */
     public void delete() {
-        try {
-            for (int i = 0; i < this.lines.size(); i++) {
-                sendTeamPacket(i, TeamMode.REMOVE);
-            }
+        synchronized (this.flushLock) {
+            synchronized (this) {
+                try {
+                    for (int i = 0; i < this.sentLines.size(); i++) {
+                        sendTeamPacket(i, TeamMode.REMOVE);
+                    }
 
-            sendObjectivePacket(ObjectiveMode.REMOVE);
-        } catch (Throwable t) {
-            throw new RuntimeException("Unable to delete scoreboard", t);
-        }
+                    sendObjectivePacket(ObjectiveMode.REMOVE);
+                } catch (Throwable t) {
+                    throw new RuntimeException("Unable to delete scoreboard", t);
+                }
 
-        this.deleted = true;
+                this.deleted = true;
+            }
+        }
     }
 
     /**
@@ -386,6 +654,15 @@ public abstract class SidebarHandler<S> {
      */
     protected abstract Object toMinecraftComponent(S value) throws Throwable;
 
+    /**
+     * Called once the client received a title and lines, such as to forget what is no longer displayed.
+     *
+     * @param title the title the client now displays
+     * @param lines the lines the client now displays
+     */
+    protected void sent(S title, List<S> lines) {
+    }
+
     /**
      * Serializes a line.
      *
@@ -419,8 +696,15 @@ public abstract class SidebarHandler<S> {
         return this.lines.size() - line - 1;
     }
 
+    /**
+     * Gets the line of a score, among the lines being sent while flushing, or the current lines otherwise.
+     *
+     * @param score the score of the line
+     * @return the line, or null if there is none
+     */
     protected S lineByScore(int score) {
-        return lineByScore(this.lines, score);
+        List<S> sending = this.sending;
+        return lineByScore(sending != null ? sending : this.lines, score);
     }
 
     protected S lineByScore(List<S> lines, int score) {
@@ -428,19 +712,23 @@ public abstract class SidebarHandler<S> {
     }
 
     protected void sendObjectivePacket(ObjectiveMode mode) throws Throwable {
+        sendObjectivePacket(mode, this.title);
+    }
+
+    private void sendObjectivePacket(ObjectiveMode mode, S title) throws Throwable {
         Object packet = PACKET_SB_OBJ.invoke();
 
-        field(packet, String.class, this.uniqueId);
-        field(packet, int.class, mode.ordinal());
+        OBJECTIVE_NAME.set(packet, this.uniqueId);
+        OBJECTIVE_MODE.set(packet, mode.ordinal());
 
         if (mode != ObjectiveMode.REMOVE) {
-            componentField(packet, this.title, 1);
+            componentField(OBJECTIVE_DISPLAY_NAME, packet, title);
 
             if (VersionType.V1_8.isHigherOrEqual()) {
-                field(packet, ENUM_SB_HEALTH_DISPLAY, ENUM_SB_HEALTH_DISPLAY_INTEGER);
+                OBJECTIVE_RENDER_TYPE.set(packet, ENUM_SB_HEALTH_DISPLAY_INTEGER);
             }
         } else if (VERSION_TYPE == VersionType.V1_7) {
-            field(packet, String.class, "", 1);
+            OBJECTIVE_LEGACY_DISPLAY_NAME.set(packet, "");
         }
 
         sendPacket(packet);
@@ -449,8 +737,8 @@ public abstract class SidebarHandler<S> {
     protected void sendDisplayObjectivePacket() throws Throwable {
         Object packet = PACKET_SB_DISPLAY_OBJ.invoke();
 
-        field(packet, DISPLAY_SLOT_TYPE, SIDEBAR_DISPLAY_SLOT); // Position
-        field(packet, String.class, this.uniqueId); // Score Name
+        DISPLAY_POSITION.set(packet, SIDEBAR_DISPLAY_SLOT);
+        DISPLAY_OBJECTIVE_NAME.set(packet, this.uniqueId);
 
         sendPacket(packet);
     }
@@ -458,19 +746,19 @@ public abstract class SidebarHandler<S> {
     protected void sendScorePacket(int score, ScoreboardAction action) throws Throwable {
         Object packet = PACKET_SB_SCORE.invoke();
 
-        field(packet, String.class, COLOR_CODES[score], 0); // Player Name
+        SCORE_PLAYER_NAME.set(packet, COLOR_CODES[score]);
 
         if (VersionType.V1_8.isHigherOrEqual()) {
             Object enumAction = action == ScoreboardAction.REMOVE
                     ? ENUM_SB_ACTION_REMOVE : ENUM_SB_ACTION_CHANGE;
-            field(packet, ENUM_SB_ACTION, enumAction);
+            SCORE_ACTION.set(packet, enumAction);
         } else {
-            field(packet, int.class, action.ordinal(), 1); // Action
+            SCORE_ACTION.set(packet, action.ordinal());
         }
 
         if (action == ScoreboardAction.CHANGE) {
-            field(packet, String.class, this.uniqueId, 1); // Objective Name
-            field(packet, int.class, score); // Score
+            SCORE_OBJECTIVE_NAME.set(packet, this.uniqueId);
+            SCORE_VALUE.set(packet, score);
         }
 
         sendPacket(packet);
@@ -487,8 +775,8 @@ public abstract class SidebarHandler<S> {
 
         Object packet = PACKET_SB_TEAM.invoke();
 
-        field(packet, String.class, this.uniqueId + ':' + score); // Team name
-        field(packet, int.class, mode.ordinal(), VERSION_TYPE == VersionType.V1_8 ? 1 : 0); // Update mode
+        TEAM_NAME.set(packet, this.uniqueId + ':' + score);
+        TEAM_MODE.set(packet, mode.ordinal());
 
         if (mode == TeamMode.REMOVE) {
             sendPacket(packet);
@@ -498,22 +786,22 @@ public abstract class SidebarHandler<S> {
         if (VersionType.V1_17.isHigherOrEqual()) {
             Object team = PACKET_SB_SERIALIZABLE_TEAM.invoke();
             // Since the packet is initialized with null values, we need to change more things.
-            componentField(team, null, 0); // Display name
-            field(team, CHAT_FORMAT_ENUM, RESET_FORMATTING); // Color
-            componentField(team, prefix, 1); // Prefix
-            componentField(team, suffix, 2); // Suffix
-            field(team, String.class, "always", 0); // Visibility
-            field(team, String.class, "always", 1); // Collisions
-            field(packet, Optional.class, Optional.of(team));
+            componentField(TEAM_DISPLAY_NAME, team, null);
+            TEAM_COLOR.set(team, RESET_FORMATTING);
+            componentField(TEAM_PREFIX, team, prefix);
+            componentField(TEAM_SUFFIX, team, suffix);
+            TEAM_VISIBILITY.set(team, "always");
+            TEAM_COLLISIONS.set(team, "always");
+            TEAM_PARAMETERS.set(packet, Optional.of(team));
         } else {
-            componentField(packet, prefix, 2); // Prefix
-            componentField(packet, suffix, 3); // Suffix
-            field(packet, String.class, "always", 4); // Visibility for 1.8+
-            field(packet, String.class, "always", 5); // Collisions for 1.9+
+            componentField(TEAM_PREFIX, packet, prefix);
+            componentField(TEAM_SUFFIX, packet, suffix);
+            TEAM_VISIBILITY.set(packet, "always");
+            TEAM_COLLISIONS.set(packet, "always");
         }
 
         if (mode == TeamMode.CREATE) {
-            field(packet, Collection.class, Collections.singletonList(COLOR_CODES[score])); // Players in the team
+            TEAM_PLAYERS.set(packet, Collections.singletonList(COLOR_CODES[score])); // Players in the team
         }
 
         sendPacket(packet);
@@ -524,6 +812,11 @@ public abstract class SidebarHandler<S> {
             throw new IllegalStateException("This FastBoard is deleted");
         }
 
+        if (this.bundle != null) {
+            this.bundle.add(packet);
+            return;
+        }
+
         if (this.player.isOnline()) {
             Object entityPlayer = PLAYER_GET_HANDLE.invoke(this.player);
             Object playerConnection = PLAYER_CONNECTION.invoke(entityPlayer);
@@ -531,32 +824,141 @@ public abstract class SidebarHandler<S> {
         }
     }
 
-    private void field(Object object, Class<?> fieldType, Object value) throws ReflectiveOperationException {
-        field(object, fieldType, value, 0);
+    private void sendBundle(List<Object> packets) throws Throwable {
+        if (packets.isEmpty()) {
+            return;
+        }
+
+        if (BUNDLE_PACKET != null && packets.size() > 1) {
+            packets = List.of(BUNDLE_PACKET.invoke((Iterable<?>) packets));
+        }
+
+        if (this.async && NETTY != null) {
+            writeToChannel(packets);
+            return;
+        }
+
+        for (Object packet : packets) {
+            sendPacket(packet);
+        }
     }
 
-    private void field(Object packet, Class<?> fieldType, Object value, int count) throws ReflectiveOperationException {
-        int i = 0;
+    private void writeToChannel(List<Object> packets) throws Throwable {
+        if (this.deleted) {
+            throw new IllegalStateException("This FastBoard is deleted");
+        }
 
-        for (Field field : PACKETS.get(packet.getClass())) {
-            if (field.getType() == fieldType && count == i++) {
-                field.set(packet, value);
-            }
+        if (this.channel == null) {
+            this.channel = NETTY.channel(PLAYER_CONNECTION.invoke(PLAYER_GET_HANDLE.invoke(this.player)));
+        }
+
+        if (!NETTY.isOpen(this.channel)) {
+            return;
+        }
+
+        for (Object packet : packets) {
+            NETTY.write(this.channel, packet);
         }
+
+        NETTY.flush(this.channel);
     }
 
-    private void componentField(Object packet, S value, int count) throws Throwable {
+    private void componentField(FieldWriter writer, Object packet, S value) throws Throwable {
         if (!VersionType.V1_13.isHigherOrEqual()) {
-            String line = value != null ? serializeLine(value) : "";
-            field(packet, String.class, line, count);
+            writer.set(packet, value != null ? serializeLine(value) : "");
             return;
         }
 
-        int i = 0;
-        for (Field field : PACKETS.get(packet.getClass())) {
-            if ((field.getType() == String.class || field.getType() == CHAT_COMPONENT_CLASS) && count == i++) {
-                field.set(packet, toMinecraftComponent(value));
+        writer.set(packet, toMinecraftComponent(value));
+    }
+
+    /**
+     * Direct access to the Netty channel of a player connection, or null if it cannot be resolved on this server version.
+     */
+    private record NettyAccess(MethodHandle networkManager, MethodHandle channel, MethodHandle write, MethodHandle flush, MethodHandle isOpen) {
+        static NettyAccess resolve(MethodHandles.Lookup lookup, Class<?> playerConnectionClass) {
+            try {
+                Class<?> networkManagerClass = ReflectionUtils.nmsClass("network", "NetworkManager");
+                Class<?> channelClass = Class.forName("io.netty.channel.Channel");
+                Class<?> channelFutureClass = Class.forName("io.netty.channel.ChannelFuture");
+
+                return new NettyAccess(
+                        lookup.unreflectGetter(declaredField(playerConnectionClass, networkManagerClass)),
+                        lookup.unreflectGetter(declaredField(networkManagerClass, channelClass)),
+                        lookup.findVirtual(channelClass, "write", MethodType.methodType(channelFutureClass, Object.class)),
+                        lookup.findVirtual(channelClass, "flush", MethodType.methodType(channelClass)),
+                        lookup.findVirtual(channelClass, "isOpen", MethodType.methodType(boolean.class))
+                );
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        private static Field declaredField(Class<?> owner, Class<?> type) throws NoSuchFieldException {
+            // The connection of the player lives in a superclass of its packet listener on recent versions
+            for (Class<?> clazz = owner; clazz != null; clazz = clazz.getSuperclass()) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && type.isAssignableFrom(field.getType())) {
+                        field.setAccessible(true);
+                        return field;
+                    }
+                }
             }
+
+            throw new NoSuchFieldException(type.getName() + " in " + owner.getName());
+        }
+
+        Object channel(Object playerConnection) throws Throwable {
+            return this.channel.invoke(this.networkManager.invoke(playerConnection));
+        }
+
+        boolean isOpen(Object channel) throws Throwable {
+            return (boolean) this.isOpen.invoke(channel);
+        }
+
+        void write(Object channel, Object packet) throws Throwable {
+            this.write.invoke(channel, packet);
+        }
+
+        void flush(Object channel) throws Throwable {
+            this.flush.invoke(channel);
+        }
+    }
+
+    /**
+     * A setter of one packet field, resolved once from a packet class, a field type and the ordinal of the field
+     * among the instance fields of that type. Fields that do not exist on the running version are skipped.
+     */
+    private record FieldWriter(MethodHandle setter) {
+        private static final FieldWriter NONE = new FieldWriter(null);
+        private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+        static FieldWriter of(MethodHandles.Lookup lookup, Class<?> packetClass, Class<?> fieldType, int ordinal) throws IllegalAccessException {
+            return find(lookup, packetClass, ordinal, type -> type == fieldType);
+        }
+
+        static FieldWriter component(MethodHandles.Lookup lookup, Class<?> packetClass, int ordinal, boolean components) throws IllegalAccessException {
+            if (!components) return of(lookup, packetClass, String.class, ordinal);
+            return find(lookup, packetClass, ordinal, type -> type == String.class || type == CHAT_COMPONENT_CLASS);
+        }
+
+        private static FieldWriter find(MethodHandles.Lookup lookup, Class<?> packetClass, int ordinal, Predicate<Class<?>> type) throws IllegalAccessException {
+            if (packetClass == null) return NONE;
+
+            int i = 0;
+
+            for (Field field : packetClass.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || !type.test(field.getType()) || ordinal != i++) continue;
+
+                field.setAccessible(true);
+                return new FieldWriter(lookup.unreflectSetter(field).asType(SETTER_TYPE));
+            }
+
+            return NONE;
+        }
+
+        void set(Object packet, Object value) throws Throwable {
+            if (setter != null) setter.invokeExact(packet, value);
         }
     }
 
@@ -0,0 +1,196 @@
+package dev.manere.utils.scoreboard;
+
+import dev.manere.utils.scheduler.Schedulers;
+import dev.manere.utils.scheduler.task.ScheduledTask;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shows {@link SidebarTemplate}s to players and refreshes every sidebar from a single repeating task.
+ * <P>
+ * On each refresh, the global parts of each template are rendered once and the resulting components
+ * are shared by all of its viewers, which also lets the conversion cache of {@link Sidebar} convert them only once.
+ * Only per-player parts are rendered for each viewer, and each sidebar only sends the lines that changed,
+ * so the cost grows with the amount of distinct content rather than with the number of players.
+ * <P>
+ * Use {@link #manager()} to access the shared manager.
+ */
+public class SidebarManager {
+    private static final SidebarManager MANAGER = new SidebarManager();
+
+    private final Map<UUID, Board> boards = new ConcurrentHashMap<>();
+    private int interval = 2;
+    private ScheduledTask task;
+
+    /**
+     * Returns the shared sidebar manager.
+     *
+     * @return the shared sidebar manager
+     */
+    public static SidebarManager manager() {
+        return MANAGER;
+    }
+
+    /**
+     * Shows a template to a player, replacing the sidebar the manager showed them before, if any.
+     *
+     * @param player   the player
+     * @param template the template to show
+     * @return the sidebar of the player
+     */
+    public synchronized Sidebar show(Player player, SidebarTemplate template) {
+        Board previous = this.boards.get(player.getUniqueId());
+        Sidebar sidebar;
+
+        if (previous != null && previous.player() == player && !previous.sidebar().isDeleted()) {
+            sidebar = previous.sidebar();
+        } else {
+            if (previous != null && !previous.sidebar().isDeleted()) {
+                previous.sidebar().delete();
+            }
+
+            sidebar = Sidebar.sidebar(player);
+        }
+
+        sidebar.pin(template.frames());
+
+        Board board = new Board(player, template, sidebar);
+        this.boards.put(player.getUniqueId(), board);
+        render(board, template.renderGlobal());
+
+        start();
+        return sidebar;
+    }
+
+    /**
+     * Hides the sidebar the manager shows to a player.
+     *
+     * @param player the player
+     */
+    public synchronized void hide(Player player) {
+        Board board = this.boards.remove(player.getUniqueId());
+
+        if (board != null && !board.sidebar().isDeleted()) {
+            board.sidebar().delete();
+        }
+
+        if (this.boards.isEmpty()) {
+            stop();
+        }
+    }
+
+    /**
+     * Gets the sidebar the manager shows to a player.
+     *
+     * @param player the player
+     * @return the sidebar, or null if the manager shows none to this player
+     */
+    public Sidebar sidebar(Player player) {
+        Board board = this.boards.get(player.getUniqueId());
+        return board == null ? null : board.sidebar();
+    }
+
+    /**
+     * Gets the template the manager shows to a player.
+     *
+     * @param player the player
+     * @return the template, or null if the manager shows none to this player
+     */
+    public SidebarTemplate template(Player player) {
+        Board board = this.boards.get(player.getUniqueId());
+        return board == null ? null : board.template();
+    }
+
+    /**
+     * Gets the number of ticks between two refreshes.
+     *
+     * @return the refresh interval, in ticks
+     */
+    public int interval() {
+        return this.interval;
+    }
+
+    /**
+     * Sets the number of ticks between two refreshes.
+     *
+     * @param ticks the refresh interval, in ticks
+     * @return this manager
+     */
+    public synchronized SidebarManager interval(int ticks) {
+        if (ticks < 1) throw new IllegalArgumentException("ticks must be positive");
+
+        this.interval = ticks;
+
+        if (this.task != null) {
+            stop();
+            start();
+        }
+
+        return this;
+    }
+
+    /**
+     * Refreshes every sidebar. This is called by the refresh task and rarely needs to be called manually.
+     */
+    public synchronized void tick() {
+        Map<SidebarTemplate, Component[]> globals = new IdentityHashMap<>();
+
+        Iterator<Board> iterator = this.boards.values().iterator();
+
+        while (iterator.hasNext()) {
+            Board board = iterator.next();
+
+            if (!board.player().isOnline() || board.sidebar().isDeleted()) {
+                iterator.remove();
+                continue;
+            }
+
+            render(board, globals.computeIfAbsent(board.template(), SidebarTemplate::renderGlobal));
+        }
+
+        if (this.boards.isEmpty()) {
+            stop();
+        }
+    }
+
+    /**
+     * Hides every sidebar and stops the refresh task.
+     */
+    public synchronized void close() {
+        for (Board board : this.boards.values()) {
+            if (!board.sidebar().isDeleted()) {
+                board.sidebar().delete();
+            }
+        }
+
+        this.boards.clear();
+        stop();
+    }
+
+    private void render(Board board, Component[] global) {
+        Component[] rendered = board.template().renderPlayer(global, board.player());
+        board.sidebar().update(rendered[0], Arrays.asList(rendered).subList(1, rendered.length));
+    }
+
+    private void start() {
+        if (this.task == null || this.task.isCancelled()) {
+            this.task = Schedulers.sync().execute(this::tick, this.interval, this.interval);
+        }
+    }
+
+    private void stop() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    private record Board(Player player, SidebarTemplate template, Sidebar sidebar) {}
+}
@@ -0,0 +1,215 @@
+package dev.manere.utils.scoreboard;
+
+import dev.manere.utils.text.animation.Animation;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The layout of a sidebar shown by the {@link SidebarManager}, made of a title and lines.
+ * <P>
+ * Each part is either fixed, global or per-player. Global parts are rendered once per tick and shared
+ * by every player viewing the template, per-player parts are rendered for each viewer.
+ * A template must not be changed while it is shown.
+ */
+public class SidebarTemplate {
+    private Part title = Part.fixed(Component.empty());
+    private final List<Part> lines = new ArrayList<>();
+
+    // The converted frames of every animation, replaced rather than changed so sidebars can share it
+    private volatile Map<Component, Object> frames = Map.of();
+
+    /**
+     * Creates a new, empty, sidebar template.
+     *
+     * @return a new template
+     */
+    public static SidebarTemplate template() {
+        return new SidebarTemplate();
+    }
+
+    /**
+     * Sets a fixed title.
+     *
+     * @param title the title
+     * @return this template
+     */
+    public SidebarTemplate title(Component title) {
+        this.title = Part.fixed(Objects.requireNonNull(title, "title"));
+        return this;
+    }
+
+    /**
+     * Sets a global title, rendered once per tick for every viewer.
+     *
+     * @param title the renderer of the title
+     * @return this template
+     */
+    public SidebarTemplate globalTitle(Supplier<Component> title) {
+        this.title = new Part(null, Objects.requireNonNull(title, "title"), null);
+        return this;
+    }
+
+    /**
+     * Sets an animated title, whose frames are converted once and then cycled through for every viewer.
+     *
+     * @param title the animation of the title
+     * @return this template
+     */
+    public SidebarTemplate title(Animation title) {
+        preload(title);
+        return globalTitle(title::current);
+    }
+
+    /**
+     * Sets a per-player title, rendered for each viewer.
+     *
+     * @param title the renderer of the title
+     * @return this template
+     */
+    public SidebarTemplate playerTitle(Function<Player, Component> title) {
+        this.title = new Part(null, null, Objects.requireNonNull(title, "title"));
+        return this;
+    }
+
+    /**
+     * Adds fixed lines.
+     *
+     * @param lines the lines
+     * @return this template
+     */
+    public SidebarTemplate line(Component... lines) {
+        for (Component line : lines) {
+            this.lines.add(Part.fixed(Objects.requireNonNull(line, "line")));
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds an animated line, whose frames are converted once and then cycled through for every viewer.
+     *
+     * @param line the animation of the line
+     * @return this template
+     */
+    public SidebarTemplate line(Animation line) {
+        preload(line);
+        return globalLine(line::current);
+    }
+
+    /**
+     * Adds a global line, rendered once per tick for every viewer.
+     *
+     * @param line the renderer of the line
+     * @return this template
+     */
+    public SidebarTemplate globalLine(Supplier<Component> line) {
+        this.lines.add(new Part(null, Objects.requireNonNull(line, "line"), null));
+        return this;
+    }
+
+    /**
+     * Adds a per-player line, rendered for each viewer.
+     *
+     * @param line the renderer of the line
+     * @return this template
+     */
+    public SidebarTemplate playerLine(Function<Player, Component> line) {
+        this.lines.add(new Part(null, null, Objects.requireNonNull(line, "line")));
+        return this;
+    }
+
+    /**
+     * Gets the number of lines of this template.
+     *
+     * @return the number of lines
+     */
+    public int size() {
+        return this.lines.size();
+    }
+
+    /**
+     * Gets the converted frames of the animations of this template, to {@link Sidebar#pin(Map) pin} to the sidebars showing it.
+     *
+     * @return the conversions, looked up by identity
+     */
+    Map<Component, Object> frames() {
+        return this.frames;
+    }
+
+    private void preload(Animation animation) {
+        Map<Component, Object> frames = new IdentityHashMap<>(this.frames);
+        frames.putAll(Sidebar.preload(animation.frames()));
+
+        this.frames = Collections.unmodifiableMap(frames);
+    }
+
+    /**
+     * Renders the fixed and global parts, leaving per-player parts empty.
+     * The title is the first element, followed by the lines.
+     *
+     * @return the rendered parts
+     */
+    Component[] renderGlobal() {
+        Component[] rendered = new Component[this.lines.size() + 1];
+
+        rendered[0] = this.title.renderGlobal();
+
+        for (int i = 0; i < this.lines.size(); i++) {
+            rendered[i + 1] = this.lines.get(i).renderGlobal();
+        }
+
+        return rendered;
+    }
+
+    /**
+     * Renders the per-player parts for a viewer, on top of the global parts.
+     *
+     * @param global the parts rendered by {@link #renderGlobal()}
+     * @param player the viewer
+     * @return the rendered parts, the title first
+     */
+    Component[] renderPlayer(Component[] global, Player player) {
+        Component[] rendered = Arrays.copyOf(global, global.length);
+
+        if (this.title.player() != null) {
+            rendered[0] = orEmpty(this.title.player().apply(player));
+        }
+
+        for (int i = 0; i < this.lines.size(); i++) {
+            Function<Player, Component> line = this.lines.get(i).player();
+
+            if (line != null) {
+                rendered[i + 1] = orEmpty(line.apply(player));
+            }
+        }
+
+        return rendered;
+    }
+
+    private static Component orEmpty(Component component) {
+        return component == null ? Component.empty() : component;
+    }
+
+    private record Part(Component fixed, Supplier<Component> global, Function<Player, Component> player) {
+        static Part fixed(Component component) {
+            return new Part(component, null, null);
+        }
+
+        Component renderGlobal() {
+            if (this.fixed != null) return this.fixed;
+            if (this.global != null) return orEmpty(this.global.get());
+
+            return null;
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package dev.manere.utils.sql.auth;
 
 import dev.manere.utils.sql.connection.SQLConnector;
+import dev.manere.utils.sql.enums.SQLDialect;
+
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * This class provides a builder pattern for configuring SQL authentication details
  * to be used with a {@link SQLConnector}.
+ * <P>
+ * It also configures the connection pool of the connector: idle and maximum pool size,
+ * borrow timeout, idle eviction, maximum connection lifetime and leak detection.
+ * <P>
+ * The dialect selects the database: a MySQL server by default, or an embedded database stored in a file.
  */
 public class SQLAuthentication {
     private String host;
@@ -12,6 +21,16 @@ public class SQLAuthentication {
     private String database;
     private String username;
     private String password;
+    private SQLDialect dialect = SQLDialect.MYSQL;
+    private String file;
+    private int minIdle = 2;
+    private int maxPoolSize = 10;
+    private long connectionTimeout = 30_000L;
+    private long idleTimeout = 600_000L;
+    private long maxLifetime = 1_800_000L;
+    private long leakDetectionThreshold = 0L;
+    private int statementCacheSize = 256;
+    private final Map<String, String> properties = new HashMap<>();
 
     /**
      * Creates a new SQL authentication instance
@@ -77,6 +96,119 @@ public class SQLAuthentication {
         return this;
     }
 
+    /**
+     * Sets the dialect of the database.
+     *
+     * @param dialect The dialect.
+     * @return This SQLAuthentication instance for method chaining.
+     */
+    public SQLAuthentication dialect(SQLDialect dialect) {
+        this.dialect = dialect;
+        return this;
+    }
+
+    /**
+     * Sets the file storing an embedded database, used instead of the host, port and database.
+     *
+     * @param file The path of the database file.
+     * @return This SQLAuthentication instance for method chaining.
+     */
+    public SQLAuthentication file(String file) {
+        this.file = file;
+        return this;
+    }
+
+    /**
+     * Sets the minimum number of idle connections the pool tries to keep open.
+     *
+     * @param minIdle The minimum number of idle connections.
+     * @return This SQLAuthentication instance for method chaining.
+     */
+    public SQLAuthentication minIdle(int minIdle) {
+        this.minIdle = minIdle;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of connections the pool opens, idle and in use combined.
+     *
+     * @param maxPoolSize The maximum pool size.
+     * @return This SQLAuthentication instance for method chaining.
+     */
+    public SQLAuthentication maxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+        return this;
+    }
+
+    /**
+     * Sets how long borrowing a connection waits for one to become available before failing.
+     * Waiting borrowers are served in order.
+     *
+     * @param connectionTimeout The borrow timeout, in milliseconds.
+     * @return This SQLAuthentication instance for method chaining.
+     */
+    public SQLAuthentication connectionTimeout(long connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+        return this;
+    }
+
+    /**
+     * Sets how long a connection may sit idle before being evicted, as long as the pool stays above its minimum idle count.
+     *
+     * @param idleTimeout The idle timeout, in milliseconds, or 0 to never evict idle connections.
+     * @return This SQLAuthentication instance for method chaining.
+     */
+    public SQLAuthentication idleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+        return this;
+    }
+
+    /**
+     * Sets the maximum lifetime of a connection, after which it is retired once returned to the pool.
+     *
+     * @param maxLifetime The maximum lifetime, in milliseconds, or 0 for no limit.
+     * @return This SQLAuthentication instance for method chaining.
+     */
+    public SQLAuthentication maxLifetime(long maxLifetime) {
+        this.maxLifetime = maxLifetime;
+        return this;
+    }
+
+    /**
+     * Sets how long a connection may be borrowed before it is reported as a possible leak,
+     * along with the stack trace of the code that borrowed it.
+     *
+     * @param leakDetectionThreshold The leak detection threshold, in milliseconds, or 0 to disable leak detection.
+     * @return This SQLAuthentication instance for method chaining.
+     */
+    public SQLAuthentication leakDetectionThreshold(long leakDetectionThreshold) {
+        this.leakDetectionThreshold = leakDetectionThreshold;
+        return this;
+    }
+
+    /**
+     * Sets how many prepared statements are cached per pooled connection.
+     *
+     * @param statementCacheSize The number of cached statements per connection, or 0 to disable the cache.
+     * @return This SQLAuthentication instance for method chaining.
+     */
+    public SQLAuthentication statementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+        return this;
+    }
+
+    /**
+     * Sets a property passed to the JDBC driver.
+     *
+     * @param key   The property key.
+     * @param value The property value.
+     * @return This SQLAuthentication instance for method chaining.
+     */
+    public SQLAuthentication property(String key, String value) {
+        this.properties.put(key, value);
+        return this;
+    }
+
     /**
      * Builds and returns a new instance of {@link SQLConnector}
      * with the configured authentication details.
@@ -131,4 +263,94 @@ public class SQLAuthentication {
     public String password() {
         return password;
     }
+
+    /**
+     * Gets the dialect of the database.
+     *
+     * @return The dialect.
+     */
+    public SQLDialect dialect() {
+        return dialect;
+    }
+
+    /**
+     * Gets the file storing an embedded database.
+     *
+     * @return The path of the database file, or null if not set.
+     */
+    public String file() {
+        return file;
+    }
+
+    /**
+     * Gets the minimum number of idle connections of the pool.
+     *
+     * @return The minimum number of idle connections.
+     */
+    public int minIdle() {
+        return minIdle;
+    }
+
+    /**
+     * Gets the maximum number of connections of the pool.
+     *
+     * @return The maximum pool size.
+     */
+    public int maxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /**
+     * Gets the borrow timeout of the pool.
+     *
+     * @return The borrow timeout, in milliseconds.
+     */
+    public long connectionTimeout() {
+        return connectionTimeout;
+    }
+
+    /**
+     * Gets the idle timeout of the pool.
+     *
+     * @return The idle timeout, in milliseconds.
+     */
+    public long idleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Gets the maximum lifetime of a pooled connection.
+     *
+     * @return The maximum lifetime, in milliseconds.
+     */
+    public long maxLifetime() {
+        return maxLifetime;
+    }
+
+    /**
+     * Gets the leak detection threshold of the pool.
+     *
+     * @return The leak detection threshold, in milliseconds.
+     */
+    public long leakDetectionThreshold() {
+        return leakDetectionThreshold;
+    }
+
+    /**
+     * Gets how many prepared statements are cached per pooled connection.
+     *
+     * @return The number of cached statements per connection.
+     */
+    public int statementCacheSize() {
+        return statementCacheSize;
+    }
+
+    /**
+     * Gets the properties passed to the JDBC driver.
+     *
+     * @return The driver properties.
+     */
+    public Map<String, String> properties() {
+        return properties;
+    }
 }
@@ -0,0 +1,395 @@
+package dev.manere.utils.sql.buffer;
+
+import dev.manere.utils.library.Utils;
+import dev.manere.utils.scheduler.Schedulers;
+import dev.manere.utils.scheduler.task.ScheduledTask;
+import dev.manere.utils.sql.enums.StatementType;
+import dev.manere.utils.sql.executor.SQLExecutor;
+import dev.manere.utils.sql.statement.SQLBatch;
+import dev.manere.utils.sql.transaction.UnitOfWork;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * A write-behind buffer for UPDATE statements, coalescing changes per table and primary key.
+ * <P>
+ * Instead of running one UPDATE per event, changes are merged in memory into one dirty row per primary key:
+ * setting a column keeps the last value, adding to a column sums the deltas. Dirty rows are flushed as
+ * JDBC batches through an {@link SQLExecutor}, on an interval and whenever the number of dirty rows reaches a threshold,
+ * so the database load is proportional to the number of distinct rows changed rather than to the number of events.
+ * Each flush runs as a single {@link UnitOfWork}, so either all of its rows are written or none is.
+ * <pre>{@code
+ * SQLWriteBuffer stats = SQLWriteBuffer.of(executor).interval(600).maxDirty(500);
+ *
+ * stats.add("player_stats", "uuid", killer.getUniqueId(), "kills", 1);
+ * stats.set("player_stats", "uuid", killer.getUniqueId(), "last_kill", Instant.now());
+ * }</pre>
+ * If a flush fails, it is rolled back, and its rows are merged back under any newer change and retried, waiting twice as long
+ * after each consecutive failure, up to the maximum backoff.
+ * <P>
+ * Call {@link #close()} when the plugin disables, before closing the executor, to flush every remaining row.
+ */
+public final class SQLWriteBuffer implements AutoCloseable {
+    private final SQLExecutor executor;
+    private final Map<RowKey, DirtyRow> rows = new ConcurrentHashMap<>();
+
+    private volatile long intervalTicks = 20L * 30L;
+    private volatile int maxDirty = 1000;
+    private volatile int chunkSize = 500;
+    private volatile long minBackoffMillis = 1000L;
+    private volatile long maxBackoffMillis = 60_000L;
+
+    private volatile ScheduledTask driver;
+    private volatile long retryAt;
+    private int failures;
+    private CompletableFuture<Void> flushing;
+
+    private SQLWriteBuffer(SQLExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a new write-behind buffer.
+     *
+     * @param executor The executor running the flushes.
+     * @return A new SQLWriteBuffer.
+     */
+    public static SQLWriteBuffer of(SQLExecutor executor) {
+        return new SQLWriteBuffer(executor);
+    }
+
+    /**
+     * Sets how often dirty rows are flushed. Only applies once the flush task is (re)started.
+     *
+     * @param ticks The interval, in ticks.
+     * @return This SQLWriteBuffer instance for method chaining.
+     */
+    public SQLWriteBuffer interval(long ticks) {
+        if (ticks < 1) throw new IllegalArgumentException("ticks must be positive");
+
+        this.intervalTicks = ticks;
+        return this;
+    }
+
+    /**
+     * Sets the number of dirty rows triggering a flush before the interval elapses.
+     *
+     * @param maxDirty The number of dirty rows.
+     * @return This SQLWriteBuffer instance for method chaining.
+     */
+    public SQLWriteBuffer maxDirty(int maxDirty) {
+        if (maxDirty < 1) throw new IllegalArgumentException("maxDirty must be positive");
+
+        this.maxDirty = maxDirty;
+        return this;
+    }
+
+    /**
+     * Sets the number of rows sent per {@code executeBatch} when flushing.
+     *
+     * @param chunkSize The number of rows per chunk.
+     * @return This SQLWriteBuffer instance for method chaining.
+     */
+    public SQLWriteBuffer chunkSize(int chunkSize) {
+        if (chunkSize < 1) throw new IllegalArgumentException("chunkSize must be positive");
+
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Sets the bounds of the delay before retrying a failed flush.
+     * The delay starts at the minimum and doubles after each consecutive failure, up to the maximum.
+     *
+     * @param min  The minimum delay.
+     * @param max  The maximum delay.
+     * @param unit The unit of the delays.
+     * @return This SQLWriteBuffer instance for method chaining.
+     */
+    public SQLWriteBuffer backoff(long min, long max, TimeUnit unit) {
+        if (min < 0 || max < min) throw new IllegalArgumentException("Invalid backoff bounds");
+
+        this.minBackoffMillis = unit.toMillis(min);
+        this.maxBackoffMillis = unit.toMillis(max);
+        return this;
+    }
+
+    /**
+     * Sets a column of a row, replacing any pending change of that column.
+     *
+     * @param table     The table of the row.
+     * @param keyColumn The primary key column of the table.
+     * @param key       The primary key of the row.
+     * @param column    The column to set.
+     * @param value     The new value.
+     */
+    public void set(String table, String keyColumn, Object key, String column, Object value) {
+        change(new RowKey(table, keyColumn, key), row -> row.set(column, value));
+    }
+
+    /**
+     * Adds a delta to a numeric column of a row, on top of any pending change of that column.
+     *
+     * @param table     The table of the row.
+     * @param keyColumn The primary key column of the table.
+     * @param key       The primary key of the row.
+     * @param column    The column to add to.
+     * @param delta     The delta to add.
+     */
+    public void add(String table, String keyColumn, Object key, String column, Number delta) {
+        change(new RowKey(table, keyColumn, key), row -> row.add(column, delta));
+    }
+
+    /**
+     * Gets the number of dirty rows waiting to be flushed.
+     *
+     * @return The number of dirty rows.
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Flushes every dirty row now, even while waiting to retry a failed flush.
+     * If a flush is already running, returns it instead.
+     *
+     * @return A future completing once the flush completed. It never completes exceptionally, failed rows are kept for a retry.
+     */
+    public CompletableFuture<Void> flush() {
+        UnitOfWork unit = UnitOfWork.of();
+        List<Map.Entry<RowKey, DirtyRow>> taken = new ArrayList<>();
+        CompletableFuture<Void> result;
+
+        synchronized (this) {
+            if (flushing != null && !flushing.isDone()) return flushing;
+            if (rows.isEmpty()) return CompletableFuture.completedFuture(null);
+
+            Map<Shape, List<Map.Entry<RowKey, DirtyRow>>> shapes = new HashMap<>();
+
+            for (RowKey key : rows.keySet()) {
+                // Removing takes the row atomically, changes made from now on go to a new row
+                DirtyRow row = rows.remove(key);
+                if (row == null || row.empty()) continue;
+
+                shapes.computeIfAbsent(row.shape(key), shape -> new ArrayList<>()).add(Map.entry(key, row));
+            }
+
+            // A single transaction, so a failing chunk cannot leave earlier chunks committed and their deltas applied twice on retry
+            for (Map.Entry<Shape, List<Map.Entry<RowKey, DirtyRow>>> entry : shapes.entrySet()) {
+                unit.add(entry.getKey().batch(entry.getValue(), chunkSize));
+                taken.addAll(entry.getValue());
+            }
+
+            if (taken.isEmpty()) return CompletableFuture.completedFuture(null);
+
+            result = flushing = new CompletableFuture<>();
+        }
+
+        // Submitted outside the lock, waiting for room in the executor must not block the threads changing rows
+        executor.transaction(unit).whenComplete((affected, throwable) -> {
+            try {
+                if (throwable == null) {
+                    succeeded();
+                } else {
+                    failed(taken, throwable);
+                }
+            } finally {
+                result.complete(null);
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Stops the flush task and flushes every remaining dirty row, waiting up to the connection timeout.
+     * Rows that could not be flushed are reported and dropped.
+     */
+    @Override
+    public void close() {
+        ScheduledTask driver;
+
+        synchronized (this) {
+            driver = this.driver;
+            this.driver = null;
+        }
+
+        if (driver != null) driver.cancel();
+
+        try {
+            CompletableFuture<Void> running;
+
+            synchronized (this) {
+                running = flushing;
+            }
+
+            if (running != null) running.get(executor.connector().authentication().connectionTimeout(), TimeUnit.MILLISECONDS);
+            flush().get(executor.connector().authentication().connectionTimeout(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            Utils.plugin().getLogger().log(Level.SEVERE, "Failed to flush the SQL write buffer", e);
+        }
+
+        if (!rows.isEmpty()) {
+            Utils.plugin().getLogger().severe("Dropped " + rows.size() + " unflushed rows of the SQL write buffer");
+            rows.clear();
+        }
+    }
+
+    private void change(RowKey key, Consumer<DirtyRow> change) {
+        rows.compute(key, (ignored, row) -> {
+            if (row == null) row = new DirtyRow();
+
+            change.accept(row);
+            return row;
+        });
+
+        ScheduledTask driver = this.driver;
+        if (driver == null || driver.isCancelled()) start();
+
+        if (rows.size() >= maxDirty && System.currentTimeMillis() >= retryAt) flush();
+    }
+
+    private synchronized void start() {
+        if (driver != null && !driver.isCancelled()) return;
+
+        int ticks = (int) Math.min(Integer.MAX_VALUE, intervalTicks);
+        driver = Schedulers.async().execute(this::tick, ticks, ticks);
+    }
+
+    private void tick() {
+        if (System.currentTimeMillis() >= retryAt) flush();
+    }
+
+    private synchronized void succeeded() {
+        failures = 0;
+        retryAt = 0L;
+    }
+
+    private void failed(List<Map.Entry<RowKey, DirtyRow>> taken, Throwable throwable) {
+        // Put the rows back under anything that changed since they were taken
+        for (Map.Entry<RowKey, DirtyRow> entry : taken) {
+            try {
+                rows.merge(entry.getKey(), entry.getValue(), (newer, older) -> older.then(newer));
+            } catch (IllegalStateException e) {
+                // A newer change added to a column the failed row set to a non-numeric value, keep the newer change only
+                Utils.plugin().getLogger().log(Level.WARNING, "Dropped the failed changes of row " + entry.getKey().key() + " of table " + entry.getKey().table(), e);
+            }
+        }
+
+        long backoff;
+
+        synchronized (this) {
+            failures++;
+            backoff = Math.min(maxBackoffMillis, minBackoffMillis << Math.min(failures - 1, 30));
+            retryAt = System.currentTimeMillis() + backoff;
+        }
+
+        Utils.plugin().getLogger().log(Level.WARNING, "Failed to flush " + taken.size() + " rows of the SQL write buffer, retrying in " + backoff + "ms", throwable);
+    }
+
+    private static Number sum(Number a, Number b) {
+        if (a instanceof BigDecimal || b instanceof BigDecimal) {
+            return new BigDecimal(a.toString()).add(new BigDecimal(b.toString()));
+        }
+
+        if (a instanceof Double || a instanceof Float || b instanceof Double || b instanceof Float) {
+            return a.doubleValue() + b.doubleValue();
+        }
+
+        return a.longValue() + b.longValue();
+    }
+
+    private record RowKey(String table, String keyColumn, Object key) {
+        private RowKey {
+            Objects.requireNonNull(table, "table");
+            Objects.requireNonNull(keyColumn, "keyColumn");
+            Objects.requireNonNull(key, "key");
+        }
+    }
+
+    private record Shape(String table, String keyColumn, List<String> sets, List<String> adds) {
+        private SQLBatch batch(List<Map.Entry<RowKey, DirtyRow>> taken, int chunkSize) {
+            StringBuilder query = new StringBuilder("UPDATE ");
+            query.append(table).append(" SET ");
+
+            String separator = "";
+
+            for (String column : sets) {
+                query.append(separator).append(column).append(" = ?");
+                separator = ", ";
+            }
+
+            for (String column : adds) {
+                query.append(separator).append(column).append(" = ").append(column).append(" + ?");
+                separator = ", ";
+            }
+
+            query.append(" WHERE ").append(keyColumn).append(" = ?");
+
+            List<List<Object>> parameters = new ArrayList<>(taken.size());
+
+            for (Map.Entry<RowKey, DirtyRow> entry : taken) {
+                DirtyRow row = entry.getValue();
+                List<Object> values = new ArrayList<>(sets.size() + adds.size() + 1);
+
+                values.addAll(row.sets.values());
+                values.addAll(row.adds.values());
+                values.add(entry.getKey().key());
+
+                parameters.add(values);
+            }
+
+            return new SQLBatch(StatementType.UPDATE, table, query.toString(), parameters, chunkSize);
+        }
+    }
+
+    private static final class DirtyRow {
+        // Sorted, so rows changing the same columns share the same shape and SQL
+        private final TreeMap<String, Object> sets = new TreeMap<>();
+        private final TreeMap<String, Number> adds = new TreeMap<>();
+
+        private void set(String column, Object value) {
+            sets.put(column, value);
+            adds.remove(column);
+        }
+
+        private void add(String column, Number delta) {
+            Objects.requireNonNull(delta, "delta");
+
+            if (sets.containsKey(column)) {
+                if (!(sets.get(column) instanceof Number value)) {
+                    throw new IllegalStateException("Cannot add to the non-numeric pending value of column " + column);
+                }
+
+                sets.put(column, sum(value, delta));
+            } else {
+                adds.merge(column, delta, SQLWriteBuffer::sum);
+            }
+        }
+
+        private DirtyRow then(DirtyRow newer) {
+            newer.sets.forEach(this::set);
+            newer.adds.forEach(this::add);
+            return this;
+        }
+
+        private boolean empty() {
+            return sets.isEmpty() && adds.isEmpty();
+        }
+
+        private Shape shape(RowKey key) {
+            return new Shape(key.table(), key.keyColumn(), List.copyOf(sets.keySet()), List.copyOf(adds.keySet()));
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package dev.manere.utils.sql.cache;
+
+import dev.manere.utils.sql.executor.SQLFuture;
+import dev.manere.utils.sql.statement.SQLStatement;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A read-through cache of query results, keyed by statement shape and bound parameters.
+ * <P>
+ * Entries expire after a fixed time to live, and the least recently used entries are evicted past the maximum size.
+ * Concurrent misses of the same statement share a single query. Writes invalidate every cached result
+ * of the table they target: each table has a generation bumped by {@link #invalidate(String)}, and results
+ * loaded under an older generation are discarded, including results of queries still running during the write.
+ * <P>
+ * Attach it to an {@link dev.manere.utils.sql.executor.SQLExecutor} with {@code executor.cache(cache)}, which caches
+ * SELECT statements and invalidates tables written through its INSERT, UPDATE, DELETE and batch methods.
+ * Writes made any other way must be followed by {@link #invalidate(String)}.
+ */
+public final class SQLQueryCache {
+    private final long ttlNanos;
+    private final int maxSize;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final AtomicLong globalGeneration = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private SQLQueryCache(long ttlNanos, int maxSize) {
+        this.ttlNanos = ttlNanos;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Creates a new query cache.
+     *
+     * @param ttl     The time to live of the cached results.
+     * @param unit    The unit of the time to live.
+     * @param maxSize The maximum number of cached results.
+     * @return A new SQLQueryCache.
+     */
+    public static SQLQueryCache of(long ttl, TimeUnit unit, int maxSize) {
+        if (ttl <= 0) throw new IllegalArgumentException("ttl must be positive");
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize must be positive");
+
+        return new SQLQueryCache(unit.toNanos(ttl), maxSize);
+    }
+
+    /**
+     * Gets the cached result of a statement, or loads and caches it.
+     *
+     * @param statement The statement.
+     * @param mapper    The mapper of the result, part of the key, or null for unmapped rows. Reuse the same mapper instance across calls.
+     * @param loader    The loader running the statement on a miss.
+     * @param <T>       The type of the result.
+     * @return A future completing with the result. Failed loads are not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> SQLFuture<T> get(SQLStatement statement, Object mapper, Supplier<SQLFuture<T>> loader) {
+        Key key = new Key(statement, mapper);
+        long now = System.nanoTime();
+
+        Entry entry;
+        SQLFuture<T> loading = null;
+
+        synchronized (entries) {
+            entry = entries.get(key);
+
+            if (entry != null && !valid(entry, now)) {
+                entries.remove(key);
+                entry = null;
+            }
+
+            if (entry == null) {
+                loading = new SQLFuture<>();
+                entry = new Entry(loading, statement.table(), now + ttlNanos, generation(statement.table()).get(), globalGeneration.get());
+
+                entries.put(key, entry);
+                evict();
+            }
+        }
+
+        if (loading == null) {
+            hits.increment();
+            return (SQLFuture<T>) entry.future().copy();
+        }
+
+        misses.increment();
+
+        Entry loaded = entry;
+        SQLFuture<T> result = loading;
+
+        try {
+            loader.get().whenComplete((value, throwable) -> {
+                if (throwable == null) {
+                    result.complete(value);
+                } else {
+                    remove(key, loaded);
+                    result.completeExceptionally(throwable);
+                }
+            });
+        } catch (RuntimeException e) {
+            remove(key, loaded);
+            result.completeExceptionally(e);
+        }
+
+        return (SQLFuture<T>) result.copy();
+    }
+
+    /**
+     * Invalidates every cached result of a table.
+     *
+     * @param table The table, or null to invalidate everything.
+     */
+    public void invalidate(String table) {
+        if (table == null) {
+            invalidateAll();
+            return;
+        }
+
+        generation(table).incrementAndGet();
+    }
+
+    /**
+     * Invalidates every cached result.
+     */
+    public void invalidateAll() {
+        globalGeneration.incrementAndGet();
+
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Gets the number of cached results, including expired ones not evicted yet.
+     *
+     * @return The number of cached results.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Gets the number of lookups served from the cache.
+     *
+     * @return The number of hits.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that had to run the statement.
+     *
+     * @return The number of misses.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "SQLQueryCache[size=" + size() + ", hits=" + hits() + ", misses=" + misses() + "]";
+    }
+
+    private boolean valid(Entry entry, long now) {
+        return now - entry.expiresAt() < 0
+                && entry.globalGeneration() == globalGeneration.get()
+                && entry.generation() == generation(entry.table()).get();
+    }
+
+    private AtomicLong generation(String table) {
+        String key = table == null ? "" : table.toLowerCase(Locale.ROOT);
+        return generations.computeIfAbsent(key, ignored -> new AtomicLong());
+    }
+
+    private void evict() {
+        if (entries.size() <= maxSize) return;
+
+        Iterator<Entry> iterator = entries.values().iterator();
+
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private void remove(Key key, Entry entry) {
+        synchronized (entries) {
+            entries.remove(key, entry);
+        }
+    }
+
+    private record Key(SQLStatement statement, Object mapper) {}
+
+    private record Entry(SQLFuture<?> future, String table, long expiresAt, long generation, long globalGeneration) {}
+}
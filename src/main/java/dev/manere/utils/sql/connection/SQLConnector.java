@@ -1,14 +1,58 @@
 package dev.manere.utils.sql.connection;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import dev.manere.utils.sql.auth.SQLAuthentication;
+import dev.manere.utils.sql.enums.SQLDialect;
+import dev.manere.utils.sql.metrics.SQLMetrics;
+import dev.manere.utils.sql.result.ResultRows;
+import dev.manere.utils.sql.result.RowMapper;
+import dev.manere.utils.sql.result.SQLCursor;
+import dev.manere.utils.sql.statement.SQLStatement;
+import dev.manere.utils.sql.statement.SQLStatementCache;
+
+import java.io.File;
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
- * A record representing an SQL connector with specified authentication details.
+ * A connector to an SQL database with specified authentication details.
+ * <P>
+ * Connections are borrowed from a connection pool configured through the {@link SQLAuthentication}.
+ * The pool is created on the first call to {@link #connect()}, and closing a borrowed connection
+ * returns it to the pool instead of closing it, rolling back any transaction left open first.
+ * <P>
+ * Prepared statements are cached per pooled connection, see {@link #prepare(Connection, SQLStatement)}.
+ * <P>
+ * With a single-writer dialect such as {@link SQLDialect#SQLITE}, the pool of {@link #connect()} holds a single
+ * connection, so writes queue behind each other, and {@link #connect(boolean)} borrows read-only work
+ * from a second pool whose connections read in parallel.
+ * <P>
+ * Every statement run through this connector is recorded by its {@link SQLMetrics}, see {@link #metrics()}.
  */
-public record SQLConnector(SQLAuthentication authentication) {
+public final class SQLConnector implements AutoCloseable {
+    private final SQLAuthentication authentication;
+    private final SQLStatementCache statementCache;
+    private volatile HikariDataSource dataSource;
+    private volatile HikariDataSource readerSource;
+    private volatile SQLMetrics metrics = SQLMetrics.of();
+
+    /**
+     * Creates a new SQL connector.
+     *
+     * @param authentication The authentication details.
+     */
+    public SQLConnector(SQLAuthentication authentication) {
+        this.authentication = authentication;
+        this.statementCache = new SQLStatementCache(authentication.statementCacheSize());
+    }
+
     /**
      * Creates a new SQL connector with default authentication settings.
      * @return A new SQLConnector instance with default authentication settings.
@@ -33,17 +77,315 @@ public record SQLConnector(SQLAuthentication authentication) {
     }
 
     /**
-     * Establishes a connection to the SQL database.
-     * @return A Connection object representing the established database connection.
-     * @throws RuntimeException If an error occurs during the connection process.
+     * Creates a new SQL connector to an embedded SQLite database.
+     * @param file The database file, created if it does not exist.
+     * @return A new SQLConnector.
+     */
+    public static SQLConnector sqlite(File file) {
+        return new SQLConnector(SQLAuthentication.of()
+                .dialect(SQLDialect.SQLITE)
+                .file(file.getAbsolutePath()));
+    }
+
+    /**
+     * Gets the authentication details of this connector.
+     * @return The authentication details.
+     */
+    public SQLAuthentication authentication() {
+        return authentication;
+    }
+
+    /**
+     * Gets the dialect of the database of this connector.
+     * @return The dialect.
+     */
+    public SQLDialect dialect() {
+        return authentication.dialect();
+    }
+
+    /**
+     * Gets the metrics recording every statement run through this connector.
+     * @return The metrics.
+     */
+    public SQLMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the metrics recording every statement run through this connector, for example to share them between connectors.
+     * @param metrics The metrics.
+     * @return This SQLConnector instance for method chaining.
+     */
+    public SQLConnector metrics(SQLMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+        return this;
+    }
+
+    /**
+     * Borrows a connection from the pool, creating the pool first if needed.
+     * The connection must be closed once done with, which returns it to the pool.
+     * @return A Connection object representing the borrowed database connection.
+     * @throws RuntimeException If no connection could be borrowed before the connection timeout.
      */
     public Connection connect() {
-        String url = "jdbc:mysql://" + authentication.host() + ":" + authentication.port() + "/" + authentication.database();
+        return borrow(dataSource());
+    }
+
+    /**
+     * Borrows a connection from the pool, creating the pool first if needed.
+     * For single-writer dialects, read-only work borrows from the reader pool instead,
+     * so it does not wait behind writes.
+     * @param readOnly Whether the connection is only used for reads.
+     * @return A Connection object representing the borrowed database connection.
+     * @throws RuntimeException If no connection could be borrowed before the connection timeout.
+     */
+    public Connection connect(boolean readOnly) {
+        if (!readOnly || !dialect().singleWriter()) return connect();
+        return borrow(readerSource());
+    }
+
+    private Connection borrow(HikariDataSource source) {
+        long start = System.nanoTime();
 
         try {
-            return DriverManager.getConnection(url, authentication.username(), authentication.password());
+            Connection connection = source.getConnection();
+            metrics.borrowed(System.nanoTime() - start);
+
+            return TransactionGuard.guard(connection);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Prepares a statement on a borrowed connection and binds its parameters.
+     * Repeated statement shapes reuse the prepared statement cached for the connection,
+     * which must then not be closed by the caller, see {@link SQLStatementCache#cached()}.
+     * @param connection The borrowed connection.
+     * @param statement The statement to prepare.
+     * @return The prepared statement, with the parameters bound.
+     * @throws SQLException If the statement could not be prepared or bound.
+     */
+    public PreparedStatement prepare(Connection connection, SQLStatement statement) throws SQLException {
+        return statementCache.prepare(connection, statement);
+    }
+
+    /**
+     * Runs a query on a borrowed connection and reads every row of its result.
+     * @param connection The borrowed connection.
+     * @param statement The query to run.
+     * @return The rows of the result.
+     * @throws SQLException If the query failed.
+     */
+    public ResultRows query(Connection connection, SQLStatement statement) throws SQLException {
+        long start = System.nanoTime();
+        int count = -1;
+
+        PreparedStatement prepared = prepare(connection, statement);
+
+        try (ResultSet resultSet = prepared.executeQuery()) {
+            ResultRows rows = ResultRows.read(resultSet);
+            count = rows.size();
+
+            return rows;
+        } finally {
+            if (!statementCache.cached()) prepared.close();
+            metrics.record(statement.sql(), statement.parameters(), start, count);
+        }
+    }
+
+    /**
+     * Runs a query on a borrowed connection and maps every row of its result.
+     * @param connection The borrowed connection.
+     * @param statement The query to run.
+     * @param mapper The mapper of the rows, compiled once for the result.
+     * @return The mapped rows.
+     * @param <T> The type of the mapped rows.
+     * @throws SQLException If the query failed.
+     */
+    public <T> List<T> query(Connection connection, SQLStatement statement, RowMapper<T> mapper) throws SQLException {
+        long start = System.nanoTime();
+        int count = -1;
+
+        PreparedStatement prepared = prepare(connection, statement);
+
+        try (ResultSet resultSet = prepared.executeQuery()) {
+            RowMapper<T> compiled = mapper.compile(resultSet.getMetaData());
+            List<T> rows = new ArrayList<>();
+
+            while (resultSet.next()) {
+                rows.add(compiled.map(resultSet));
+            }
+
+            count = rows.size();
+            return rows;
+        } finally {
+            if (!statementCache.cached()) prepared.close();
+            metrics.record(statement.sql(), statement.parameters(), start, count);
+        }
+    }
+
+    /**
+     * Runs a query on a newly borrowed connection and opens a cursor streaming its result.
+     * The connection is returned to the pool when the cursor is closed.
+     * @param statement The query to run.
+     * @param fetchSize The number of rows fetched per round trip, or 0 to let the driver decide.
+     * @param mapper The mapper of the rows, compiled once for the result.
+     * @return A new cursor, which must be closed.
+     * @param <T> The type of the mapped rows.
+     * @throws SQLException If the query failed.
+     */
+    public <T> SQLCursor<T> stream(SQLStatement statement, int fetchSize, RowMapper<T> mapper) throws SQLException {
+        Connection connection = connect(true);
+
+        try {
+            return SQLCursor.open(this, connection, statement, fetchSize, mapper).closing(connection);
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs an INSERT, UPDATE, DELETE or DDL statement on a borrowed connection.
+     * @param connection The borrowed connection.
+     * @param statement The statement to run.
+     * @return The number of affected rows.
+     * @throws SQLException If the statement failed.
+     */
+    public int update(Connection connection, SQLStatement statement) throws SQLException {
+        long start = System.nanoTime();
+        int count = -1;
+
+        PreparedStatement prepared = prepare(connection, statement);
+
+        try {
+            count = prepared.executeUpdate();
+            return count;
+        } finally {
+            if (!statementCache.cached()) prepared.close();
+            metrics.record(statement.sql(), statement.parameters(), start, count);
+        }
+    }
+
+    /**
+     * Gets the prepared statement cache of this connector.
+     * @return The prepared statement cache.
+     */
+    public SQLStatementCache statementCache() {
+        return statementCache;
+    }
+
+    /**
+     * Gets the pooled data source of this connector, creating it if needed.
+     * @return The pooled data source.
+     */
+    public HikariDataSource dataSource() {
+        HikariDataSource dataSource = this.dataSource;
+        if (dataSource != null) return dataSource;
+
+        synchronized (this) {
+            if (this.dataSource == null) {
+                this.dataSource = new HikariDataSource(config(false));
+            }
+
+            return this.dataSource;
+        }
+    }
+
+    private HikariDataSource readerSource() {
+        HikariDataSource readerSource = this.readerSource;
+        if (readerSource != null) return readerSource;
+
+        // Open the writer first, so that it creates the database file and switches it to WAL
+        dataSource();
+
+        synchronized (this) {
+            if (this.readerSource == null) {
+                this.readerSource = new HikariDataSource(config(true));
+            }
+
+            return this.readerSource;
+        }
+    }
+
+    /**
+     * Checks whether the pool of this connector was created and is still open.
+     * @return True if the pool is open, false otherwise.
+     */
+    public boolean connected() {
+        HikariDataSource dataSource = this.dataSource;
+        return dataSource != null && !dataSource.isClosed();
+    }
+
+    /**
+     * Closes the pool of this connector, closing every pooled connection.
+     */
+    @Override
+    public void close() {
+        HikariDataSource dataSource;
+        HikariDataSource readerSource;
+
+        synchronized (this) {
+            dataSource = this.dataSource;
+            readerSource = this.readerSource;
+            this.dataSource = null;
+            this.readerSource = null;
+        }
+
+        statementCache.clear();
+        if (readerSource != null) readerSource.close();
+        if (dataSource != null) dataSource.close();
+    }
+
+    private HikariConfig config(boolean readers) {
+        SQLDialect dialect = dialect();
+        HikariConfig config = new HikariConfig();
+
+        String name = dialect.embedded() ? new File(authentication.file()).getName() : authentication.database();
+
+        config.setPoolName("utils-" + name + (readers ? "-readers" : ""));
+        if (dialect.driverClassName() != null) config.setDriverClassName(dialect.driverClassName());
+        config.setJdbcUrl(dialect.url(authentication));
+        config.setUsername(authentication.username());
+        config.setPassword(authentication.password());
+
+        if (dialect.singleWriter() && !readers) {
+            config.setMinimumIdle(1);
+            config.setMaximumPoolSize(1);
+        } else {
+            config.setMinimumIdle(authentication.minIdle());
+            config.setMaximumPoolSize(authentication.maxPoolSize());
+        }
+
+        config.setConnectionTimeout(authentication.connectionTimeout());
+        config.setIdleTimeout(authentication.idleTimeout());
+        config.setMaxLifetime(authentication.maxLifetime());
+        config.setLeakDetectionThreshold(authentication.leakDetectionThreshold());
+
+        for (Map.Entry<String, String> property : dialect.properties(authentication).entrySet()) {
+            config.addDataSourceProperty(property.getKey(), property.getValue());
+        }
+
+        for (Map.Entry<String, String> property : authentication.properties().entrySet()) {
+            config.addDataSourceProperty(property.getKey(), property.getValue());
+        }
+
+        return config;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof SQLConnector connector && Objects.equals(authentication, connector.authentication));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(authentication);
+    }
+
+    @Override
+    public String toString() {
+        return "SQLConnector[authentication=" + authentication + "]";
+    }
 }
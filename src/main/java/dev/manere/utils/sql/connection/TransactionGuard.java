@@ -0,0 +1,60 @@
+package dev.manere.utils.sql.connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Wraps a pooled connection so that closing it rolls back any transaction left open before returning it to the pool.
+ * <P>
+ * Cached statements run on the physical connection, bypassing the pool's proxy, so the pool does not know a transaction
+ * has uncommitted writes, and resetting auto-commit on return would commit them.
+ */
+final class TransactionGuard implements InvocationHandler {
+    private final Connection connection;
+
+    private TransactionGuard(Connection connection) {
+        this.connection = connection;
+    }
+
+    static Connection guard(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(TransactionGuard.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new TransactionGuard(connection));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close" -> {
+                close();
+                return null;
+            }
+            case "equals" -> {
+                return proxy == args[0];
+            }
+            case "hashCode" -> {
+                return System.identityHashCode(proxy);
+            }
+        }
+
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void close() throws SQLException {
+        try {
+            if (!connection.isClosed() && !connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } finally {
+            connection.close();
+        }
+    }
+}
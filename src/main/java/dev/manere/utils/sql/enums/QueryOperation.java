@@ -2,12 +2,88 @@ package dev.manere.utils.sql.enums;
 
 /**
  * An enumeration representing different types of query operations for SQL database.
- * Currently, only the 'EQUALS' operation is supported.
  */
 public enum QueryOperation {
     /**
      * Represents the equality operation in a SQL query.
      * This operation is used to compare if two values are equal.
+     * Comparing to null is rendered as {@code IS NULL}.
      */
-    EQUALS
+    EQUALS("="),
+
+    /**
+     * Checks that two values are not equal.
+     * Comparing to null is rendered as {@code IS NOT NULL}.
+     */
+    NOT_EQUALS("<>"),
+
+    /**
+     * Checks that the column is lower than the value.
+     */
+    LESS_THAN("<"),
+
+    /**
+     * Checks that the column is lower than or equal to the value.
+     */
+    LESS_THAN_OR_EQUALS("<="),
+
+    /**
+     * Checks that the column is greater than the value.
+     */
+    GREATER_THAN(">"),
+
+    /**
+     * Checks that the column is greater than or equal to the value.
+     */
+    GREATER_THAN_OR_EQUALS(">="),
+
+    /**
+     * Checks that the column matches a pattern, where {@code %} matches any sequence and {@code _} any character.
+     */
+    LIKE("LIKE"),
+
+    /**
+     * Checks that the column does not match a pattern.
+     */
+    NOT_LIKE("NOT LIKE"),
+
+    /**
+     * Checks that the column is one of the values, given as a collection or an array.
+     */
+    IN("IN"),
+
+    /**
+     * Checks that the column is none of the values, given as a collection or an array.
+     */
+    NOT_IN("NOT IN"),
+
+    /**
+     * Checks that the column is between two values, inclusive, given as a collection or an array of two elements.
+     */
+    BETWEEN("BETWEEN"),
+
+    /**
+     * Checks that the column is null. The value is ignored.
+     */
+    IS_NULL("IS NULL"),
+
+    /**
+     * Checks that the column is not null. The value is ignored.
+     */
+    IS_NOT_NULL("IS NOT NULL");
+
+    private final String symbol;
+
+    QueryOperation(String symbol) {
+        this.symbol = symbol;
+    }
+
+    /**
+     * Gets the SQL operator of this operation.
+     *
+     * @return The SQL operator, such as {@code =} or {@code IN}.
+     */
+    public String symbol() {
+        return symbol;
+    }
 }
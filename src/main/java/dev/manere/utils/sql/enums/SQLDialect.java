@@ -0,0 +1,179 @@
+package dev.manere.utils.sql.enums;
+
+import dev.manere.utils.sql.auth.SQLAuthentication;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An enumeration representing the SQL databases a connector can talk to,
+ * and the differences in connection settings and SQL syntax between them.
+ */
+public enum SQLDialect {
+    /**
+     * A MySQL or MariaDB server, reached over the network.
+     */
+    MYSQL(null, false),
+
+    /**
+     * An SQLite database stored in a single file, through the driver bundled with the server.
+     * <P>
+     * The database runs in WAL mode, where readers never block the writer nor each other.
+     * SQLite only allows one writer at a time, so writes go through a pool of a single connection,
+     * queueing behind each other, while reads get a pool of their own.
+     */
+    SQLITE("org.sqlite.JDBC", true),
+
+    /**
+     * An H2 database stored in a file, in MySQL compatibility mode. The H2 driver must be provided by the plugin.
+     */
+    H2("org.h2.Driver", false);
+
+    private final String driverClassName;
+    private final boolean singleWriter;
+
+    SQLDialect(String driverClassName, boolean singleWriter) {
+        this.driverClassName = driverClassName;
+        this.singleWriter = singleWriter;
+    }
+
+    /**
+     * Gets the class name of the JDBC driver of this dialect.
+     *
+     * @return The driver class name, or null to let the driver manager find it from the URL.
+     */
+    public String driverClassName() {
+        return driverClassName;
+    }
+
+    /**
+     * Checks whether this dialect only allows one writing connection at a time,
+     * in which case the connector keeps a separate pool for reads.
+     *
+     * @return True if writes are serialized, false otherwise.
+     */
+    public boolean singleWriter() {
+        return singleWriter;
+    }
+
+    /**
+     * Checks whether this dialect runs on a local file rather than on a server.
+     *
+     * @return True if the database is embedded, false otherwise.
+     */
+    public boolean embedded() {
+        return this != MYSQL;
+    }
+
+    /**
+     * Builds the JDBC URL of a database.
+     *
+     * @param authentication The authentication details, with the host, port and database for servers, or the file for embedded databases.
+     * @return The JDBC URL.
+     */
+    public String url(SQLAuthentication authentication) {
+        if (embedded() && authentication.file() == null) {
+            throw new IllegalStateException("No database file set for the " + name() + " dialect");
+        }
+
+        return switch (this) {
+            case MYSQL -> "jdbc:mysql://" + authentication.host() + ":" + authentication.port() + "/" + authentication.database();
+            case SQLITE -> "jdbc:sqlite:" + authentication.file();
+            case H2 -> "jdbc:h2:file:" + authentication.file() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+        };
+    }
+
+    /**
+     * Gets the driver properties this dialect sets by default, before the ones of the authentication.
+     *
+     * @param authentication The authentication details.
+     * @return The driver properties.
+     */
+    public Map<String, String> properties(SQLAuthentication authentication) {
+        Map<String, String> properties = new LinkedHashMap<>();
+
+        switch (this) {
+            // Let the driver rewrite JDBC batches into multi-row statements
+            case MYSQL -> properties.put("rewriteBatchedStatements", "true");
+            case SQLITE -> {
+                properties.put("journal_mode", "WAL");
+                // With WAL, NORMAL only syncs on checkpoints, and stays safe against corruption
+                properties.put("synchronous", "NORMAL");
+                properties.put("busy_timeout", String.valueOf(authentication.connectionTimeout()));
+                properties.put("foreign_keys", "true");
+            }
+            case H2 -> {}
+        }
+
+        return properties;
+    }
+
+    /**
+     * Checks whether secondary indexes can be declared inside {@code CREATE TABLE}.
+     *
+     * @return True if indexes are declared inline, false if they need their own {@code CREATE INDEX}.
+     */
+    public boolean inlineIndexes() {
+        return this == MYSQL;
+    }
+
+    /**
+     * Builds the query creating a secondary index on its own.
+     *
+     * @param name    The name of the index.
+     * @param table   The indexed table.
+     * @param columns The indexed columns, in order.
+     * @param unique  Whether the index is unique.
+     * @return The CREATE INDEX query.
+     */
+    public String createIndex(String name, String table, List<String> columns, boolean unique) {
+        // MySQL has no IF NOT EXISTS for indexes
+        String ifNotExists = this == MYSQL ? "" : "IF NOT EXISTS ";
+        return "CREATE " + (unique ? "UNIQUE " : "") + "INDEX " + ifNotExists + name + " ON " + table + " (" + String.join(", ", columns) + ")";
+    }
+
+    /**
+     * Appends the upsert clause of an INSERT statement.
+     *
+     * @param query   The INSERT statement being built.
+     * @param keys    The key columns a conflict is detected on, or null if unknown, in which case any unique key conflicts.
+     * @param updates The columns to update on conflict, or none to ignore conflicting rows.
+     */
+    public void appendUpsert(StringBuilder query, List<String> keys, List<String> updates) {
+        List<String> assignments = new ArrayList<>(updates.size());
+
+        if (this == SQLITE) {
+            if (keys == null) throw new IllegalStateException("SQLite upserts require the conflicting key columns");
+
+            query.append(" ON CONFLICT (").append(String.join(", ", keys)).append(") DO ");
+
+            if (updates.isEmpty()) {
+                query.append("NOTHING");
+                return;
+            }
+
+            for (String column : updates) {
+                assignments.add(column + " = excluded." + column);
+            }
+
+            query.append("UPDATE SET ").append(String.join(", ", assignments));
+            return;
+        }
+
+        if (updates.isEmpty()) {
+            // Assigning a key to itself is a no-op update, which ignores the conflicting row
+            String column = keys == null || keys.isEmpty() ? null : keys.getFirst();
+            if (column == null) throw new IllegalStateException("Ignoring conflicts requires the conflicting key columns");
+
+            assignments.add(column + " = " + column);
+        }
+
+        for (String column : updates) {
+            assignments.add(column + " = VALUES(" + column + ")");
+        }
+
+        query.append(" ON DUPLICATE KEY UPDATE ").append(String.join(", ", assignments));
+    }
+}
@@ -0,0 +1,42 @@
+package dev.manere.utils.sql.enums;
+
+/**
+ * An enumeration representing the direction of an ORDER BY column.
+ */
+public enum SortOrder {
+    /**
+     * Sorts from the lowest to the highest value.
+     */
+    ASCENDING("ASC", ">"),
+
+    /**
+     * Sorts from the highest to the lowest value.
+     */
+    DESCENDING("DESC", "<");
+
+    private final String keyword;
+    private final String seek;
+
+    SortOrder(String keyword, String seek) {
+        this.keyword = keyword;
+        this.seek = seek;
+    }
+
+    /**
+     * Gets the SQL keyword of this direction.
+     *
+     * @return {@code ASC} or {@code DESC}.
+     */
+    public String keyword() {
+        return keyword;
+    }
+
+    /**
+     * Gets the comparison operator selecting the rows coming after a value in this direction.
+     *
+     * @return {@code >} or {@code <}.
+     */
+    public String seek() {
+        return seek;
+    }
+}
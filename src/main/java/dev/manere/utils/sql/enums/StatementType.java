@@ -0,0 +1,40 @@
+package dev.manere.utils.sql.enums;
+
+/**
+ * An enumeration representing the kind of an SQL statement.
+ */
+public enum StatementType {
+    /**
+     * A statement reading rows.
+     */
+    SELECT,
+
+    /**
+     * A statement inserting rows.
+     */
+    INSERT,
+
+    /**
+     * A statement updating rows.
+     */
+    UPDATE,
+
+    /**
+     * A statement deleting rows.
+     */
+    DELETE,
+
+    /**
+     * Any other statement, such as table or index creation.
+     */
+    OTHER;
+
+    /**
+     * Checks whether statements of this type modify data.
+     *
+     * @return True for INSERT, UPDATE and DELETE statements, false otherwise.
+     */
+    public boolean writes() {
+        return this == INSERT || this == UPDATE || this == DELETE;
+    }
+}
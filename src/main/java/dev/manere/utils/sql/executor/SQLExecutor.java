@@ -0,0 +1,535 @@
+package dev.manere.utils.sql.executor;
+
+import dev.manere.utils.sql.cache.SQLQueryCache;
+import dev.manere.utils.sql.connection.SQLConnector;
+import dev.manere.utils.sql.enums.StatementType;
+import dev.manere.utils.sql.metrics.SQLMetrics;
+import dev.manere.utils.sql.query.SQLDeleteQuery;
+import dev.manere.utils.sql.query.SQLInsertQuery;
+import dev.manere.utils.sql.query.SQLPager;
+import dev.manere.utils.sql.query.SQLSelectQuery;
+import dev.manere.utils.sql.query.SQLTableBuilder;
+import dev.manere.utils.sql.query.SQLUpdateQuery;
+import dev.manere.utils.sql.result.ResultRows;
+import dev.manere.utils.sql.result.RowMapper;
+import dev.manere.utils.sql.result.SQLCursor;
+import dev.manere.utils.sql.statement.SQLBatch;
+import dev.manere.utils.sql.statement.SQLStatement;
+import dev.manere.utils.sql.transaction.UnitOfWork;
+import org.bukkit.Bukkit;
+
+import java.sql.Connection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs SQL statements off the main server thread, on connections borrowed from an {@link SQLConnector}.
+ * <P>
+ * Work runs either on a dedicated bounded thread pool, sized after the connection pool by default,
+ * or on virtual threads. In both cases, the number of submitted but not yet completed works is bounded.
+ * Once full, submitting from the main thread fails fast with a {@link RejectedExecutionException}
+ * instead of freezing the server, while other threads wait up to the connection timeout for room.
+ * <P>
+ * Results are delivered through {@link SQLFuture}, see {@link SQLFuture#thenSync} to consume them on the main thread.
+ * <P>
+ * With a {@link SQLQueryCache} attached, SELECT statements are read through the cache, and writes invalidate
+ * the cached results of the tables they target before their future completes.
+ */
+public final class SQLExecutor implements AutoCloseable {
+    private static final int DEFAULT_QUEUE_SIZE = 1024;
+
+    private final SQLConnector connector;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int capacity;
+    private volatile SQLQueryCache cache;
+
+    private SQLExecutor(SQLConnector connector, ExecutorService executor, int capacity) {
+        this.connector = connector;
+        this.executor = executor;
+        this.permits = new Semaphore(capacity);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Creates a new SQL executor running on a bounded thread pool with one thread per pooled connection.
+     *
+     * @param connector The connector to borrow connections from.
+     * @return A new SQLExecutor.
+     */
+    public static SQLExecutor of(SQLConnector connector) {
+        return bounded(connector, connector.authentication().maxPoolSize(), DEFAULT_QUEUE_SIZE);
+    }
+
+    /**
+     * Creates a new SQL executor running on a bounded thread pool.
+     * Threads are started on demand, and stopped once idle for a minute.
+     *
+     * @param connector The connector to borrow connections from.
+     * @param threads   The number of threads, which should not exceed the maximum pool size of the connector.
+     * @param queueSize The number of works that may wait for a thread.
+     * @return A new SQLExecutor.
+     */
+    public static SQLExecutor bounded(SQLConnector connector, int threads, int queueSize) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be positive");
+        if (queueSize < 0) throw new IllegalArgumentException("queueSize must not be negative");
+
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "utils-sql-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        // The permits bound the queue, so it never grows past queueSize itself
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+        executor.allowCoreThreadTimeOut(true);
+
+        return new SQLExecutor(connector, executor, threads + queueSize);
+    }
+
+    /**
+     * Creates a new SQL executor running every work on its own virtual thread.
+     * Works beyond the maximum pool size of the connector wait for a connection inside the pool.
+     *
+     * @param connector  The connector to borrow connections from.
+     * @param maxPending The maximum number of submitted but not yet completed works.
+     * @return A new SQLExecutor.
+     */
+    public static SQLExecutor virtual(SQLConnector connector, int maxPending) {
+        if (maxPending < 1) throw new IllegalArgumentException("maxPending must be positive");
+
+        ThreadFactory factory = Thread.ofVirtual().name("utils-sql-", 1).factory();
+        return new SQLExecutor(connector, Executors.newThreadPerTaskExecutor(factory), maxPending);
+    }
+
+    /**
+     * Gets the connector of this executor.
+     *
+     * @return The connector.
+     */
+    public SQLConnector connector() {
+        return connector;
+    }
+
+    /**
+     * Gets the maximum number of submitted but not yet completed works.
+     *
+     * @return The capacity.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of submitted but not yet completed works.
+     *
+     * @return The number of pending works.
+     */
+    public int pending() {
+        return capacity - permits.availablePermits();
+    }
+
+    /**
+     * Gets the query cache of this executor.
+     *
+     * @return The query cache, or null if results are not cached.
+     */
+    public SQLQueryCache cache() {
+        return cache;
+    }
+
+    /**
+     * Sets the query cache of this executor, through which SELECT statements are read.
+     *
+     * @param cache The query cache, or null to stop caching results.
+     * @return This SQLExecutor instance for method chaining.
+     */
+    public SQLExecutor cache(SQLQueryCache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * Runs a query and reads every row of its result, from the query cache if any and if the statement is a SELECT.
+     *
+     * @param statement The query to run.
+     * @return A future completing with the rows of the result.
+     */
+    public SQLFuture<ResultRows> query(SQLStatement statement) {
+        SQLQueryCache cache = this.cache;
+
+        if (cache != null && statement.type() == StatementType.SELECT) {
+            return cache.get(statement, null, () -> submit(connection -> connector.query(connection, statement), true));
+        }
+
+        return submit(connection -> connector.query(connection, statement), true);
+    }
+
+    /**
+     * Runs a SELECT query and reads every row of its result.
+     *
+     * @param query The query to run.
+     * @return A future completing with the rows of the result.
+     */
+    public SQLFuture<ResultRows> query(SQLSelectQuery query) {
+        return query(query.statement());
+    }
+
+    /**
+     * Runs a query and maps every row of its result, from the query cache if any and if the statement is a SELECT.
+     * Cached results are keyed by mapper too, so the same mapper instance should be reused across calls,
+     * and are shared by every hit, so the list of a cached result cannot be modified.
+     *
+     * @param statement The query to run.
+     * @param mapper    The mapper of the rows.
+     * @param <T>       The type of the mapped rows.
+     * @return A future completing with the mapped rows.
+     */
+    public <T> SQLFuture<List<T>> query(SQLStatement statement, RowMapper<T> mapper) {
+        SQLQueryCache cache = this.cache;
+
+        if (cache != null && statement.type() == StatementType.SELECT) {
+            // Every hit shares the cached list, so it is read-only
+            return cache.get(statement, mapper, () -> submit(connection -> Collections.unmodifiableList(connector.query(connection, statement, mapper)), true));
+        }
+
+        return submit(connection -> connector.query(connection, statement, mapper), true);
+    }
+
+    /**
+     * Runs a SELECT query and maps every row of its result.
+     *
+     * @param query  The query to run.
+     * @param mapper The mapper of the rows.
+     * @param <T>    The type of the mapped rows.
+     * @return A future completing with the mapped rows.
+     */
+    public <T> SQLFuture<List<T>> query(SQLSelectQuery query, RowMapper<T> mapper) {
+        return query(query.statement(), mapper);
+    }
+
+    /**
+     * Runs a query and streams its rows to a consumer as they are fetched, without loading the whole result.
+     * The consumer runs on the executor thread.
+     *
+     * @param statement The query to run.
+     * @param fetchSize The number of rows fetched per round trip, or 0 to let the driver decide.
+     * @param mapper    The mapper of the rows.
+     * @param consumer  The consumer of the mapped rows.
+     * @param <T>       The type of the mapped rows.
+     * @return A future completing with the number of rows consumed.
+     */
+    public <T> SQLFuture<Integer> stream(SQLStatement statement, int fetchSize, RowMapper<T> mapper, Consumer<? super T> consumer) {
+        return submit(connection -> {
+            int count = 0;
+
+            try (SQLCursor<T> cursor = SQLCursor.open(connector, connection, statement, fetchSize, mapper)) {
+                while (cursor.hasNext()) {
+                    consumer.accept(cursor.next());
+                    count++;
+                }
+            }
+
+            return count;
+        }, true);
+    }
+
+    /**
+     * Fetches the next page of a keyset pager.
+     *
+     * @param pager The pager, which must not be used by anything else until the future completes.
+     * @param <T>   The type of the mapped rows.
+     * @return A future completing with the rows of the page, empty once every row was read.
+     */
+    public <T> SQLFuture<List<T>> page(SQLPager<T> pager) {
+        return submit(connection -> pager.next(connector, connection), true);
+    }
+
+    /**
+     * Runs an INSERT, UPDATE, DELETE or DDL statement.
+     *
+     * @param statement The statement to run.
+     * @return A future completing with the number of affected rows.
+     */
+    public SQLFuture<Integer> update(SQLStatement statement) {
+        return submit(connection -> {
+            try {
+                return connector.update(connection, statement);
+            } finally {
+                written(statement.type(), statement.table());
+            }
+        });
+    }
+
+    /**
+     * Runs an INSERT query, as a JDBC batch.
+     *
+     * @param query The query to run.
+     * @return A future completing with the number of affected rows.
+     */
+    public SQLFuture<Integer> update(SQLInsertQuery query) {
+        return batch(query.dialect(connector.dialect()).batch());
+    }
+
+    /**
+     * Runs an UPDATE query.
+     *
+     * @param query The query to run.
+     * @return A future completing with the number of affected rows.
+     */
+    public SQLFuture<Integer> update(SQLUpdateQuery query) {
+        return update(query.statement());
+    }
+
+    /**
+     * Runs a DELETE query.
+     *
+     * @param query The query to run.
+     * @return A future completing with the number of affected rows.
+     */
+    public SQLFuture<Integer> update(SQLDeleteQuery query) {
+        return update(query.statement());
+    }
+
+    /**
+     * Creates a table and its indexes, in the dialect of the connector.
+     *
+     * @param table The table to create.
+     * @return A future completing once the table and its indexes exist.
+     */
+    public SQLFuture<Integer> update(SQLTableBuilder table) {
+        return updateAll(table.dialect(connector.dialect()).statements());
+    }
+
+    /**
+     * Runs several statements in order, on the same connection.
+     *
+     * @param statements The statements to run.
+     * @return A future completing with the total number of affected rows.
+     */
+    public SQLFuture<Integer> updateAll(List<SQLStatement> statements) {
+        List<SQLStatement> copy = List.copyOf(statements);
+
+        return submit(connection -> {
+            int affected = 0;
+
+            try {
+                for (SQLStatement statement : copy) {
+                    affected += connector.update(connection, statement);
+                }
+            } finally {
+                for (SQLStatement statement : copy) {
+                    written(statement.type(), statement.table());
+                }
+            }
+
+            return affected;
+        });
+    }
+
+    /**
+     * Runs a JDBC batch.
+     *
+     * @param batch The batch to run.
+     * @return A future completing with the number of affected rows.
+     */
+    public SQLFuture<Integer> batch(SQLBatch batch) {
+        return submit(connection -> {
+            try {
+                return batch.execute(connector, connection);
+            } finally {
+                written(batch.type(), batch.table());
+            }
+        });
+    }
+
+    /**
+     * Runs a unit of work in a single transaction, on a single borrowed connection.
+     * The unit is run again on deadlocks and serialization failures, up to its number of retries.
+     *
+     * @param work The unit of work to run.
+     * @return A future completing with the number of affected rows.
+     */
+    public SQLFuture<Integer> transaction(UnitOfWork work) {
+        return submit(connection -> {
+            try {
+                return work.execute(connector, connection);
+            } finally {
+                SQLQueryCache cache = this.cache;
+
+                if (cache != null) {
+                    if (work.opaque()) {
+                        cache.invalidateAll();
+                    } else {
+                        work.tables().forEach(cache::invalidate);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Submits work running on a borrowed connection.
+     * <P>
+     * If this executor is full, the returned future fails with a {@link RejectedExecutionException},
+     * right away on the main thread, or once no room was made within the connection timeout on other threads.
+     * <P>
+     * A transaction the work leaves open, by turning auto-commit off without committing, is rolled back
+     * by the connector when the connection is returned to the pool, whether the work completed or failed.
+     *
+     * @param work The work to run.
+     * @param <T>  The type of the result of the work.
+     * @return A future completing with the result of the work.
+     */
+    public <T> SQLFuture<T> submit(SQLWork<T> work) {
+        return submit(work, false);
+    }
+
+    /**
+     * Submits work running on a borrowed connection, see {@link #submit(SQLWork)}.
+     * Read-only work borrows from the reader pool of single-writer dialects, so it does not wait behind writes.
+     *
+     * @param work     The work to run.
+     * @param readOnly Whether the work only reads.
+     * @param <T>      The type of the result of the work.
+     * @return A future completing with the result of the work.
+     */
+    public <T> SQLFuture<T> submit(SQLWork<T> work, boolean readOnly) {
+        SQLFuture<T> future = new SQLFuture<>();
+        SQLMetrics metrics = connector.metrics();
+
+        if (!acquire()) {
+            future.completeExceptionally(new RejectedExecutionException("SQL executor is full (" + capacity + " pending works)"));
+            return future;
+        }
+
+        try {
+            executor.execute(new QueuedWork<>(work, readOnly, future, metrics));
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * Invalidates the cached results a statement may have changed, even if it failed halfway.
+     * Statements of unknown type or table may have changed anything.
+     */
+    private void written(StatementType type, String table) {
+        SQLQueryCache cache = this.cache;
+        if (cache == null || type == StatementType.SELECT) return;
+
+        if (type == StatementType.OTHER || table == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(table);
+        }
+    }
+
+    private boolean acquire() {
+        if (permits.tryAcquire()) return true;
+        if (Bukkit.isPrimaryThread()) return false;
+
+        try {
+            return permits.tryAcquire(connector.authentication().connectionTimeout(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Stops accepting works, then waits for pending works to complete, up to the connection timeout.
+     * Running works still pending after that are interrupted, and the futures of queued works that never started
+     * fail with a {@link RejectedExecutionException}.
+     * The connector is not closed.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+
+        try {
+            if (!executor.awaitTermination(connector.authentication().connectionTimeout(), TimeUnit.MILLISECONDS)) {
+                reject(executor.shutdownNow());
+            }
+        } catch (InterruptedException e) {
+            reject(executor.shutdownNow());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void reject(List<Runnable> queued) {
+        for (Runnable runnable : queued) {
+            if (runnable instanceof QueuedWork<?> work) {
+                work.reject(new RejectedExecutionException("SQL executor was closed before the work started"));
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SQLExecutor[connector=" + connector + ", pending=" + pending() + ", capacity=" + capacity + "]";
+    }
+
+    /**
+     * A submitted work waiting for a thread, holding the permit it acquired until it completes or is rejected.
+     */
+    private final class QueuedWork<T> implements Runnable {
+        private final SQLWork<T> work;
+        private final boolean readOnly;
+        private final SQLFuture<T> future;
+        private final SQLMetrics metrics;
+        private final Class<?> caller;
+
+        private QueuedWork(SQLWork<T> work, boolean readOnly, SQLFuture<T> future, SQLMetrics metrics) {
+            this.work = work;
+            this.readOnly = readOnly;
+            this.future = future;
+            this.metrics = metrics;
+            // Slow statements are reported against the code which submitted them, not the executor thread
+            this.caller = metrics.caller();
+        }
+
+        @Override
+        public void run() {
+            try {
+                // Skip the work if the caller cancelled it while it was queued
+                if (future.isDone()) return;
+
+                metrics.caller(caller);
+
+                T result;
+
+                // Completed once the connection is back in the pool, with any transaction left open rolled back
+                try (Connection connection = connector.connect(readOnly)) {
+                    result = work.run(connection);
+                }
+
+                future.complete(result);
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            } finally {
+                metrics.caller(null);
+                permits.release();
+            }
+        }
+
+        private void reject(Throwable throwable) {
+            future.completeExceptionally(throwable);
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package dev.manere.utils.sql.executor;
+
+import dev.manere.utils.scheduler.Schedulers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The pending result of work submitted to an {@link SQLExecutor}.
+ * <P>
+ * On top of the regular {@link CompletableFuture} methods, results can be delivered to the main server thread,
+ * which is where most callbacks touching players or worlds need to run:
+ * <pre>{@code
+ * executor.query(SQLSelectQuery.of().from("kits").where("name", QueryOperation.EQUALS, name))
+ *         .thenSync(rows -> player.sendMessage(rows.size() + " kits found"));
+ * }</pre>
+ *
+ * @param <T> The type of the result.
+ */
+public class SQLFuture<T> extends CompletableFuture<T> {
+    /**
+     * Creates a new incomplete SQL future.
+     */
+    public SQLFuture() {}
+
+    @Override
+    public <U> SQLFuture<U> newIncompleteFuture() {
+        return new SQLFuture<>();
+    }
+
+    /**
+     * Consumes the result on the main server thread once this future completes normally.
+     *
+     * @param action The action consuming the result.
+     * @return A future completing once the action ran.
+     */
+    public SQLFuture<Void> thenSync(Consumer<? super T> action) {
+        return (SQLFuture<Void>) thenAcceptAsync(action, Schedulers.syncExecutor());
+    }
+
+    /**
+     * Maps the result on the main server thread once this future completes normally.
+     *
+     * @param function The function mapping the result.
+     * @param <U>      The type of the mapped result.
+     * @return A future completing with the mapped result.
+     */
+    public <U> SQLFuture<U> thenApplySync(Function<? super T, ? extends U> function) {
+        return (SQLFuture<U>) this.<U>thenApplyAsync(function, Schedulers.syncExecutor());
+    }
+
+    /**
+     * Consumes the result or the failure on the main server thread once this future completes.
+     *
+     * @param action The action consuming the result, or null, and the failure, or null.
+     * @return A future completing like this one, once the action ran.
+     */
+    public SQLFuture<T> whenCompleteSync(BiConsumer<? super T, ? super Throwable> action) {
+        return (SQLFuture<T>) whenCompleteAsync(action, Schedulers.syncExecutor());
+    }
+}
@@ -0,0 +1,23 @@
+package dev.manere.utils.sql.executor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Work run by an {@link SQLExecutor} on a connection borrowed from the pool.
+ * The connection is returned to the pool once the work completes, and must not be closed by the work.
+ * A work turning auto-commit off must commit before returning, anything left uncommitted is rolled back.
+ *
+ * @param <T> The type of the result of the work.
+ */
+@FunctionalInterface
+public interface SQLWork<T> {
+    /**
+     * Runs the work.
+     *
+     * @param connection The borrowed connection.
+     * @return The result of the work.
+     * @throws SQLException If a statement failed.
+     */
+    T run(Connection connection) throws SQLException;
+}
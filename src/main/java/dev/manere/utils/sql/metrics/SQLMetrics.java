@@ -0,0 +1,324 @@
+package dev.manere.utils.sql.metrics;
+
+import dev.manere.utils.library.Utils;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Collects execution statistics of every statement run through an {@link dev.manere.utils.sql.connection.SQLConnector},
+ * keyed by statement SQL, and reports slow statements.
+ * <P>
+ * Every statement is timed, together with the time its connection waited in the pool and the number of rows
+ * it read or affected. Statements slower than the {@link #slowThreshold(long, TimeUnit)} are handed, off the
+ * calling thread, to the slow query log along with their redacted parameters and the plugin which submitted them.
+ * <P>
+ * The number of distinct statements is capped, further statements are recorded under {@link #OVERFLOW},
+ * so statements with inlined values cannot grow the statistics forever.
+ */
+public final class SQLMetrics {
+    /**
+     * The SQL under which statements beyond the maximum number of distinct statements are recorded.
+     */
+    public static final String OVERFLOW = "<other statements>";
+
+    private static final String PACKAGE = "dev.manere.utils.sql.";
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final Map<String, SQLStats> stats = new ConcurrentHashMap<>();
+    private final ThreadLocal<Context> context = ThreadLocal.withInitial(Context::new);
+    private final LongAdder slowQueries = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final ThreadPoolExecutor slowLogExecutor;
+
+    private volatile boolean enabled = true;
+    private volatile long slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(250L);
+    private volatile boolean redact = true;
+    private volatile int maxStatements = 1024;
+    private volatile Consumer<SlowQuery> slowLog = query -> Utils.plugin().getLogger().warning(query.toString());
+
+    private SQLMetrics() {
+        this.slowLogExecutor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(256), runnable -> {
+            Thread thread = new Thread(runnable, "utils-sql-slow-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.slowLogExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Creates new, empty, SQL metrics, logging statements slower than 250ms to the server log.
+     *
+     * @return New SQLMetrics.
+     */
+    public static SQLMetrics of() {
+        return new SQLMetrics();
+    }
+
+    /**
+     * Checks whether statements are currently being recorded.
+     *
+     * @return True if recording is enabled, false otherwise.
+     */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables recording.
+     *
+     * @param enabled Whether statements should be recorded.
+     * @return This SQLMetrics instance for method chaining.
+     */
+    public SQLMetrics enabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    /**
+     * Sets the execution time above which statements are written to the slow query log.
+     *
+     * @param threshold The threshold, or 0 to disable the slow query log.
+     * @param unit      The unit of the threshold.
+     * @return This SQLMetrics instance for method chaining.
+     */
+    public SQLMetrics slowThreshold(long threshold, TimeUnit unit) {
+        this.slowThresholdNanos = Math.max(0L, unit.toNanos(threshold));
+        return this;
+    }
+
+    /**
+     * Gets the execution time above which statements are written to the slow query log.
+     *
+     * @return The threshold in nanoseconds, or 0 if the slow query log is disabled.
+     */
+    public long slowThresholdNanos() {
+        return slowThresholdNanos;
+    }
+
+    /**
+     * Sets where slow statements are written to. The consumer runs on a dedicated thread, one statement at a time.
+     *
+     * @param slowLog The consumer of slow statements.
+     * @return This SQLMetrics instance for method chaining.
+     */
+    public SQLMetrics slowLog(Consumer<SlowQuery> slowLog) {
+        this.slowLog = slowLog;
+        return this;
+    }
+
+    /**
+     * Sets whether the parameters of slow statements are redacted.
+     * Redacted parameters only keep nulls, numbers and booleans, other values are replaced with their type.
+     *
+     * @param redact Whether parameters are redacted.
+     * @return This SQLMetrics instance for method chaining.
+     */
+    public SQLMetrics redact(boolean redact) {
+        this.redact = redact;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of distinct statements with their own statistics.
+     *
+     * @param maxStatements The maximum number of distinct statements.
+     * @return This SQLMetrics instance for method chaining.
+     */
+    public SQLMetrics maxStatements(int maxStatements) {
+        if (maxStatements < 1) throw new IllegalArgumentException("maxStatements must be positive");
+
+        this.maxStatements = maxStatements;
+        return this;
+    }
+
+    /**
+     * Records the time the current thread waited for a pooled connection.
+     * The wait is attributed to the next statement recorded on this thread.
+     *
+     * @param waitNanos The time spent waiting, in nanoseconds.
+     */
+    public void borrowed(long waitNanos) {
+        if (enabled) context.get().waitNanos = waitNanos;
+    }
+
+    /**
+     * Finds the class which called into the SQL layer from the current thread, to be passed to {@link #caller(Class)}
+     * by code running statements on behalf of another thread.
+     *
+     * @return The calling class, or null if the slow query log is disabled or the caller is unknown.
+     */
+    public Class<?> caller() {
+        if (!enabled || slowThresholdNanos == 0L) return null;
+
+        return WALKER.walk(frames -> frames
+                .map(StackWalker.StackFrame::getDeclaringClass)
+                .filter(type -> !type.getName().startsWith(PACKAGE))
+                .findFirst()
+                .orElse(null));
+    }
+
+    /**
+     * Sets the class on whose behalf the current thread runs statements, until set to null.
+     * Setting it also clears any pool wait not yet attributed to a statement.
+     *
+     * @param caller The calling class, or null once done.
+     */
+    public void caller(Class<?> caller) {
+        Context context = this.context.get();
+        context.caller = caller;
+        context.waitNanos = 0L;
+    }
+
+    /**
+     * Records a single statement.
+     *
+     * @param sql        The SQL of the statement.
+     * @param parameters The bound parameters.
+     * @param start      The {@link System#nanoTime()} the statement started at.
+     * @param rows       The number of rows read or affected, or a negative number if the statement failed.
+     */
+    public void record(String sql, List<Object> parameters, long start, long rows) {
+        if (!enabled) return;
+
+        long nanos = System.nanoTime() - start;
+
+        Context context = this.context.get();
+        long waitNanos = context.waitNanos;
+        context.waitNanos = 0L;
+
+        SQLStats stats = this.stats.get(sql);
+        if (stats == null) stats = this.stats.computeIfAbsent(this.stats.size() < maxStatements ? sql : OVERFLOW, SQLStats::new);
+
+        stats.record(nanos, waitNanos, rows);
+
+        long threshold = slowThresholdNanos;
+        if (threshold == 0L || nanos < threshold) return;
+
+        slowQueries.increment();
+
+        Class<?> caller = context.caller != null ? context.caller : caller();
+        List<String> rendered = render(parameters, redact);
+        String thread = Thread.currentThread().getName();
+
+        try {
+            slowLogExecutor.execute(() -> slowLog.accept(new SlowQuery(sql, rendered, nanos, waitNanos, rows, plugin(caller), caller == null ? null : caller.getName(), thread)));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Gets the statistics of a statement.
+     *
+     * @param sql The SQL of the statement.
+     * @return The statistics, or null if no statement with this SQL ran yet.
+     */
+    public SQLStats stats(String sql) {
+        return stats.get(sql);
+    }
+
+    /**
+     * Gets the statistics of every statement.
+     *
+     * @return A copy of the statistics of every statement.
+     */
+    public Collection<SQLStats> stats() {
+        return new ArrayList<>(stats.values());
+    }
+
+    /**
+     * Gets the statements with the highest total execution time.
+     *
+     * @param limit The maximum number of statements to return.
+     * @return The statistics of the heaviest statements, heaviest first.
+     */
+    public List<SQLStats> heaviest(int limit) {
+        return stats.values().stream()
+                .sorted(Comparator.comparingLong(SQLStats::totalNanos).reversed())
+                .limit(Math.max(0, limit))
+                .toList();
+    }
+
+    /**
+     * Builds a human-readable report of the heaviest statements, one line per statement.
+     *
+     * @param limit The maximum number of statements to include.
+     * @return The report lines, heaviest first.
+     */
+    public List<String> report(int limit) {
+        List<String> lines = new ArrayList<>();
+
+        for (SQLStats stats : heaviest(limit)) {
+            lines.add(stats.toString());
+        }
+
+        return lines;
+    }
+
+    /**
+     * Gets how many statements ran slower than the slow query threshold.
+     *
+     * @return The number of slow statements.
+     */
+    public long slowQueries() {
+        return slowQueries.sum();
+    }
+
+    /**
+     * Gets how many slow statements were not logged because the slow query log fell behind.
+     *
+     * @return The number of dropped slow statements.
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Clears the statistics of every statement.
+     */
+    public void reset() {
+        stats.clear();
+        slowQueries.reset();
+        dropped.reset();
+    }
+
+    private static List<String> render(List<Object> parameters, boolean redact) {
+        List<String> rendered = new ArrayList<>(parameters.size());
+
+        for (Object parameter : parameters) {
+            if (parameter == null) rendered.add("NULL");
+            else if (!redact || parameter instanceof Number || parameter instanceof Boolean) rendered.add(String.valueOf(parameter));
+            else rendered.add("<" + parameter.getClass().getSimpleName() + ">");
+        }
+
+        return rendered;
+    }
+
+    private static String plugin(Class<?> caller) {
+        if (caller == null) return null;
+
+        try {
+            return JavaPlugin.getProvidingPlugin(caller).getName();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static final class Context {
+        private long waitNanos;
+        private Class<?> caller;
+    }
+}
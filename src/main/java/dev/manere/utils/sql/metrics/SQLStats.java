@@ -0,0 +1,250 @@
+package dev.manere.utils.sql.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution statistics of every statement sharing the same SQL.
+ * <P>
+ * Execution times and pool wait times are recorded into histograms of power-of-two microsecond buckets,
+ * like the task statistics of the scheduler profiler, which keeps recording lock-free and allocation-free.
+ * The pool wait of a borrowed connection is attributed to the first statement run on it.
+ */
+public final class SQLStats {
+    private static final int BUCKETS = 32;
+
+    private final String sql;
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0L);
+    private final AtomicLongArray waitHistogram = new AtomicLongArray(BUCKETS);
+    private final LongAdder rows = new LongAdder();
+    private final LongAccumulator maxRows = new LongAccumulator(Long::max, 0L);
+
+    /**
+     * Constructs a new, empty, SQLStats.
+     *
+     * @param sql The SQL of the statements.
+     */
+    public SQLStats(String sql) {
+        this.sql = sql;
+    }
+
+    /**
+     * Records a single run.
+     *
+     * @param nanos     The execution time of the run, in nanoseconds.
+     * @param waitNanos The time spent waiting for a pooled connection before the run, in nanoseconds.
+     * @param rows      The number of rows read or affected, or a negative number if the run failed.
+     */
+    public void record(long nanos, long waitNanos, long rows) {
+        runs.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        histogram.incrementAndGet(bucket(nanos));
+
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulate(waitNanos);
+        waitHistogram.incrementAndGet(bucket(waitNanos));
+
+        if (rows < 0L) {
+            failures.increment();
+        } else {
+            this.rows.add(rows);
+            maxRows.accumulate(rows);
+        }
+    }
+
+    /**
+     * Gets the SQL of the statements.
+     *
+     * @return The SQL.
+     */
+    public String sql() {
+        return sql;
+    }
+
+    /**
+     * Gets how many times the statements ran.
+     *
+     * @return The number of runs.
+     */
+    public long runs() {
+        return runs.sum();
+    }
+
+    /**
+     * Gets how many runs failed.
+     *
+     * @return The number of failed runs.
+     */
+    public long failures() {
+        return failures.sum();
+    }
+
+    /**
+     * Gets the total execution time of every run.
+     *
+     * @return The total execution time, in nanoseconds.
+     */
+    public long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Gets the execution time of the slowest run.
+     *
+     * @return The maximum execution time, in nanoseconds.
+     */
+    public long maxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Gets the average execution time of a run.
+     *
+     * @return The average execution time, in nanoseconds.
+     */
+    public long averageNanos() {
+        long runs = runs();
+        return runs == 0 ? 0L : totalNanos() / runs;
+    }
+
+    /**
+     * Estimates a percentile of the execution time from the histogram.
+     * The estimate is the upper bound of the bucket the percentile falls in.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The estimated execution time, in nanoseconds.
+     */
+    public long percentileNanos(double percentile) {
+        return percentile(histogram, percentile, maxNanos());
+    }
+
+    /**
+     * Gets the total time spent waiting for pooled connections.
+     *
+     * @return The total pool wait time, in nanoseconds.
+     */
+    public long totalWaitNanos() {
+        return totalWaitNanos.sum();
+    }
+
+    /**
+     * Gets the longest time spent waiting for a pooled connection.
+     *
+     * @return The maximum pool wait time, in nanoseconds.
+     */
+    public long maxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    /**
+     * Estimates a percentile of the pool wait time from the histogram.
+     * The estimate is the upper bound of the bucket the percentile falls in.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The estimated pool wait time, in nanoseconds.
+     */
+    public long percentileWaitNanos(double percentile) {
+        return percentile(waitHistogram, percentile, maxWaitNanos());
+    }
+
+    /**
+     * Gets the total number of rows read or affected by successful runs.
+     *
+     * @return The total number of rows.
+     */
+    public long rows() {
+        return rows.sum();
+    }
+
+    /**
+     * Gets the highest number of rows read or affected by a single run.
+     *
+     * @return The maximum number of rows.
+     */
+    public long maxRows() {
+        return maxRows.get();
+    }
+
+    /**
+     * Gets the average number of rows read or affected by a successful run.
+     *
+     * @return The average number of rows.
+     */
+    public long averageRows() {
+        long successes = runs() - failures();
+        return successes <= 0 ? 0L : rows() / successes;
+    }
+
+    /**
+     * Clears every recorded run.
+     */
+    public void reset() {
+        runs.reset();
+        failures.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        totalWaitNanos.reset();
+        maxWaitNanos.reset();
+        rows.reset();
+        maxRows.reset();
+
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.set(i, 0L);
+            waitHistogram.set(i, 0L);
+        }
+    }
+
+    /**
+     * Returns a single line summary of these statistics.
+     *
+     * @return The summary.
+     */
+    @Override
+    public String toString() {
+        return String.format(
+                "%s: runs=%d failures=%d total=%.2fms avg=%.3fms p99=%.3fms max=%.3fms wait.p99=%.3fms rows.avg=%d rows.max=%d",
+                sql, runs(), failures(), millis(totalNanos()), millis(averageNanos()), millis(percentileNanos(99.0)), millis(maxNanos()),
+                millis(percentileWaitNanos(99.0)), averageRows(), maxRows()
+        );
+    }
+
+    private static long percentile(AtomicLongArray histogram, double percentile, long max) {
+        long total = 0L;
+        long[] counts = new long[BUCKETS];
+
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+            total += counts[i];
+        }
+
+        if (total == 0L) return 0L;
+
+        long target = (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0);
+        long seen = 0L;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1L, target)) return TimeUnit.MICROSECONDS.toNanos(1L << i);
+        }
+
+        return max;
+    }
+
+    static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static int bucket(long nanos) {
+        long micros = nanos / 1_000L;
+        return micros <= 0L ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+}
@@ -0,0 +1,40 @@
+package dev.manere.utils.sql.metrics;
+
+import java.util.List;
+
+/**
+ * A statement which ran slower than the slow query threshold of its {@link SQLMetrics}.
+ *
+ * @param sql        The SQL of the statement.
+ * @param parameters The bound parameters, redacted unless redaction was disabled.
+ * @param nanos      The execution time, in nanoseconds.
+ * @param waitNanos  The time spent waiting for a pooled connection before the statement, in nanoseconds.
+ * @param rows       The number of rows read or affected, or a negative number if the statement failed.
+ * @param plugin     The name of the plugin which submitted the statement, or null if unknown.
+ * @param caller     The name of the class which submitted the statement, or null if unknown.
+ * @param thread     The name of the thread the statement ran on.
+ */
+public record SlowQuery(String sql, List<String> parameters, long nanos, long waitNanos, long rows, String plugin, String caller, String thread) {
+    /**
+     * Checks whether the statement failed.
+     *
+     * @return True if the statement failed, false otherwise.
+     */
+    public boolean failed() {
+        return rows < 0L;
+    }
+
+    /**
+     * Returns a single line description of this slow query, as written to the server log.
+     *
+     * @return The description.
+     */
+    @Override
+    public String toString() {
+        return String.format(
+                "Slow SQL statement (%.2fms, waited %.2fms for a connection, %s) from %s (%s) on %s: %s %s",
+                SQLStats.millis(nanos), SQLStats.millis(waitNanos), failed() ? "failed" : rows + " rows",
+                plugin == null ? "an unknown plugin" : plugin, caller == null ? "unknown caller" : caller, thread, sql, parameters
+        );
+    }
+}
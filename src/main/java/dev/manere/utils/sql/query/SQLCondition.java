@@ -0,0 +1,296 @@
+package dev.manere.utils.sql.query;
+
+import dev.manere.utils.sql.enums.QueryOperation;
+import dev.manere.utils.sql.enums.SQLDialect;
+import dev.manere.utils.sql.statement.SQLStatement;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A condition of a WHERE clause, either a single column comparison or several conditions joined by AND or OR.
+ * <pre>{@code
+ * SQLCondition condition = SQLCondition.of("kills", QueryOperation.GREATER_THAN_OR_EQUALS, 100)
+ *         .and(SQLCondition.in("rank", List.of("vip", "mvp")).or(SQLCondition.isNull("banned_at")));
+ * }</pre>
+ * Values are bound as parameters. {@code IN} lists are padded to the next power of two by repeating their last value,
+ * so lists of similar sizes share the same SQL, and thus the same prepared statement.
+ */
+public final class SQLCondition {
+    private static final int MAX_PADDED_SIZE = 1024;
+
+    private final String column;
+    private final QueryOperation operation;
+    private final Object value;
+    private final String joiner;
+    private final List<SQLCondition> conditions;
+
+    private SQLCondition(String column, QueryOperation operation, Object value, String joiner, List<SQLCondition> conditions) {
+        this.column = column;
+        this.operation = operation;
+        this.value = value;
+        this.joiner = joiner;
+        this.conditions = conditions;
+    }
+
+    /**
+     * Creates a condition comparing a column to a value.
+     *
+     * @param column    The column to apply the condition on.
+     * @param operation The operation for the condition.
+     * @param value     The value to compare against, a collection or an array for {@code IN} and {@code BETWEEN}.
+     * @return A new SQLCondition.
+     */
+    public static SQLCondition of(String column, QueryOperation operation, Object value) {
+        Objects.requireNonNull(column, "column");
+        Objects.requireNonNull(operation, "operation");
+
+        return new SQLCondition(column, operation, value, null, null);
+    }
+
+    /**
+     * Creates a condition checking that a column is one of several values.
+     *
+     * @param column The column to apply the condition on.
+     * @param values The values.
+     * @return A new SQLCondition.
+     */
+    public static SQLCondition in(String column, Collection<?> values) {
+        return of(column, QueryOperation.IN, values);
+    }
+
+    /**
+     * Creates a condition checking that a column is between two values, inclusive.
+     *
+     * @param column The column to apply the condition on.
+     * @param from   The lowest value.
+     * @param to     The highest value.
+     * @return A new SQLCondition.
+     */
+    public static SQLCondition between(String column, Object from, Object to) {
+        return of(column, QueryOperation.BETWEEN, Arrays.asList(from, to));
+    }
+
+    /**
+     * Creates a condition checking that a column is null.
+     *
+     * @param column The column to apply the condition on.
+     * @return A new SQLCondition.
+     */
+    public static SQLCondition isNull(String column) {
+        return of(column, QueryOperation.IS_NULL, null);
+    }
+
+    /**
+     * Joins conditions with AND.
+     *
+     * @param conditions The conditions.
+     * @return A new SQLCondition.
+     */
+    public static SQLCondition all(SQLCondition... conditions) {
+        return join("AND", conditions);
+    }
+
+    /**
+     * Joins conditions with OR.
+     *
+     * @param conditions The conditions.
+     * @return A new SQLCondition.
+     */
+    public static SQLCondition any(SQLCondition... conditions) {
+        return join("OR", conditions);
+    }
+
+    /**
+     * Joins this condition and another with AND.
+     *
+     * @param other The other condition.
+     * @return A new SQLCondition.
+     */
+    public SQLCondition and(SQLCondition other) {
+        return all(this, other);
+    }
+
+    /**
+     * Joins this condition and another with OR.
+     *
+     * @param other The other condition.
+     * @return A new SQLCondition.
+     */
+    public SQLCondition or(SQLCondition other) {
+        return any(this, other);
+    }
+
+    /**
+     * Appends this condition to a query, binding values to the parameters, or inlining them if the parameters are null.
+     */
+    void append(StringBuilder query, List<Object> parameters) {
+        if (conditions != null) {
+            query.append("(");
+
+            for (int i = 0; i < conditions.size(); i++) {
+                if (i > 0) query.append(" ").append(joiner).append(" ");
+                conditions.get(i).append(query, parameters);
+            }
+
+            query.append(")");
+            return;
+        }
+
+        switch (operation) {
+            case IS_NULL, IS_NOT_NULL -> query.append(column).append(" ").append(operation.symbol());
+            case EQUALS, NOT_EQUALS -> {
+                if (value == null) {
+                    query.append(column).append(operation == QueryOperation.EQUALS ? " IS NULL" : " IS NOT NULL");
+                } else {
+                    query.append(column).append(" ").append(operation.symbol()).append(" ");
+                    appendValue(query, parameters, value);
+                }
+            }
+            case IN, NOT_IN -> {
+                List<Object> values = values(value);
+
+                if (values.isEmpty()) {
+                    // Nothing is in an empty list
+                    query.append(operation == QueryOperation.IN ? "1 = 0" : "1 = 1");
+                    return;
+                }
+
+                int size = parameters == null ? values.size() : padded(values.size());
+
+                query.append(column).append(" ").append(operation.symbol()).append(" (");
+
+                for (int i = 0; i < size; i++) {
+                    if (i > 0) query.append(", ");
+                    appendValue(query, parameters, values.get(Math.min(i, values.size() - 1)));
+                }
+
+                query.append(")");
+            }
+            case BETWEEN -> {
+                List<Object> values = values(value);
+                if (values.size() != 2) throw new IllegalStateException("BETWEEN requires exactly two values");
+
+                query.append(column).append(" BETWEEN ");
+                appendValue(query, parameters, values.get(0));
+                query.append(" AND ");
+                appendValue(query, parameters, values.get(1));
+            }
+            default -> {
+                query.append(column).append(" ").append(operation.symbol()).append(" ");
+                appendValue(query, parameters, value);
+            }
+        }
+    }
+
+    /**
+     * Appends a value to a query as a placeholder bound to the parameters, or inlined for MySQL if the parameters are null.
+     */
+    static void appendValue(StringBuilder query, List<Object> parameters, Object value) {
+        if (parameters != null) {
+            query.append("?");
+            parameters.add(value);
+        } else {
+            appendLiteral(query, value, SQLDialect.MYSQL);
+        }
+    }
+
+    /**
+     * Renders a statement with its parameters inlined as literals escaped for a dialect.
+     * Identifiers never contain placeholders, so every {@code ?} is a value.
+     */
+    static String inline(SQLStatement statement, SQLDialect dialect) {
+        String sql = statement.sql();
+        List<Object> parameters = statement.parameters();
+
+        StringBuilder query = new StringBuilder(sql.length() + parameters.size() * 8);
+        int parameter = 0;
+
+        for (int i = 0; i < sql.length(); i++) {
+            char character = sql.charAt(i);
+
+            if (character == '?') {
+                appendLiteral(query, parameters.get(parameter++), dialect);
+            } else {
+                query.append(character);
+            }
+        }
+
+        return query.toString();
+    }
+
+    /**
+     * Appends a value to a query as a literal escaped for a dialect.
+     */
+    static void appendLiteral(StringBuilder query, Object value, SQLDialect dialect) {
+        if (value == null) {
+            query.append("NULL");
+            return;
+        }
+
+        if (value instanceof Number || value instanceof Boolean) {
+            query.append(value);
+            return;
+        }
+
+        query.append('\'');
+
+        for (char character : value.toString().toCharArray()) {
+            if (character == '\'') query.append('\'');
+            // MySQL treats backslashes as escapes by default, unlike standard SQL and H2
+            if (character == '\\' && dialect == SQLDialect.MYSQL) query.append('\\');
+
+            query.append(character);
+        }
+
+        query.append('\'');
+    }
+
+    private static SQLCondition join(String joiner, SQLCondition... conditions) {
+        if (conditions.length == 0) throw new IllegalArgumentException("No condition to join");
+        if (conditions.length == 1) return Objects.requireNonNull(conditions[0]);
+
+        List<SQLCondition> flattened = new ArrayList<>();
+
+        for (SQLCondition condition : conditions) {
+            // (a AND b) AND c is a AND b AND c
+            if (joiner.equals(condition.joiner)) flattened.addAll(condition.conditions);
+            else flattened.add(condition);
+        }
+
+        return new SQLCondition(null, null, null, joiner, List.copyOf(flattened));
+    }
+
+    private static List<Object> values(Object value) {
+        if (value instanceof Collection<?> collection) return new ArrayList<>(collection);
+
+        if (value != null && value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            List<Object> values = new ArrayList<>(length);
+
+            for (int i = 0; i < length; i++) {
+                values.add(Array.get(value, i));
+            }
+
+            return values;
+        }
+
+        throw new IllegalStateException("Expected a collection or an array of values, got " + value);
+    }
+
+    private static int padded(int size) {
+        if (size <= 1 || size > MAX_PADDED_SIZE) return size;
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder query = new StringBuilder();
+        append(query, null);
+        return query.toString();
+    }
+}
@@ -1,17 +1,22 @@
 package dev.manere.utils.sql.query;
 
 import dev.manere.utils.sql.enums.QueryOperation;
+import dev.manere.utils.sql.enums.SQLDialect;
+import dev.manere.utils.sql.enums.StatementType;
+import dev.manere.utils.sql.statement.SQLStatement;
 
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A class for constructing SQL DELETE queries dynamically.
+ * <P>
+ * Conditions added with {@link #where(String, QueryOperation, Object)} are combined with AND, use {@link SQLCondition}
+ * for OR and nested conditions. A WHERE clause is required, so a whole table is never deleted by mistake.
  */
 public class SQLDeleteQuery {
     private String tableName;
-    private String whereColumn;
-    private QueryOperation operation;
-    private Object value;
+    private SQLCondition condition;
 
     /**
      * Creates a new instance of SQLDeleteQuery.
@@ -32,31 +37,71 @@ public class SQLDeleteQuery {
     }
 
     /**
-     * Sets the column, operation, and value for the WHERE clause to filter records.
+     * Sets the column, operation, and value for the WHERE clause to filter records, combined with AND with the previous ones.
      * @param column The name of the column to filter on.
      * @param operation The QueryOperation to use in the WHERE clause.
-     * @param value The value to compare in the WHERE clause.
+     * @param value The value to compare in the WHERE clause, a collection or an array for IN and BETWEEN.
      * @return The current SQLDeleteQuery instance for method chaining.
      */
     public SQLDeleteQuery where(String column, QueryOperation operation, Object value) {
-        this.whereColumn = column;
-        this.operation = operation;
-        this.value = value;
+        return where(SQLCondition.of(column, operation, value));
+    }
+
+    /**
+     * Adds a condition to the WHERE clause, combined with AND with the previous ones.
+     * @param condition The condition.
+     * @return The current SQLDeleteQuery instance for method chaining.
+     */
+    public SQLDeleteQuery where(SQLCondition condition) {
+        this.condition = this.condition == null ? condition : this.condition.and(condition);
+        return this;
+    }
+
+    /**
+     * Adds an alternative condition to the WHERE clause, combined with OR with the previous ones.
+     * @param condition The condition.
+     * @return The current SQLDeleteQuery instance for method chaining.
+     */
+    public SQLDeleteQuery or(SQLCondition condition) {
+        this.condition = this.condition == null ? condition : this.condition.or(condition);
         return this;
     }
 
     /**
-     * Builds the SQL DELETE query based on the configured parameters.
+     * Builds the SQL DELETE query based on the configured parameters, with the values inlined as MySQL literals.
+     * Prefer {@link #statement()}, which binds the values instead.
      * @return A string representing the constructed SQL DELETE query.
      */
     public String build() {
-        StringBuilder query = new StringBuilder("DELETE FROM ");
-        query.append(tableName).append(" WHERE ").append(whereColumn).append(" ");
+        return build(SQLDialect.MYSQL);
+    }
+
+    /**
+     * Builds the SQL DELETE query, with the values inlined as literals escaped for a dialect.
+     * Prefer {@link #statement()}, which binds the values instead.
+     * @param dialect The dialect the literals are escaped for.
+     * @return A string representing the constructed SQL DELETE query.
+     */
+    public String build(SQLDialect dialect) {
+        return SQLCondition.inline(statement(), dialect);
+    }
+
+    /**
+     * Builds the parameterized SQL DELETE statement, with {@code ?} placeholders instead of inlined values.
+     * @return The constructed SQL DELETE statement.
+     */
+    public SQLStatement statement() {
+        StringBuilder query = new StringBuilder();
+        List<Object> parameters = new ArrayList<>();
+
+        append(query, parameters);
+        return new SQLStatement(StatementType.DELETE, tableName, query.toString(), parameters);
+    }
 
-        if (Objects.requireNonNull(operation) == QueryOperation.EQUALS) {
-            query.append("=").append(" '").append(value).append("'");
-        }
+    private void append(StringBuilder query, List<Object> parameters) {
+        if (condition == null) throw new IllegalStateException("No WHERE clause set");
 
-        return query.toString();
+        query.append("DELETE FROM ").append(tableName).append(" WHERE ");
+        condition.append(query, parameters);
     }
 }
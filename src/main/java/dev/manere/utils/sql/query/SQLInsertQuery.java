@@ -1,15 +1,37 @@
 package dev.manere.utils.sql.query;
 
-import java.util.HashMap;
+import dev.manere.utils.sql.enums.SQLDialect;
+import dev.manere.utils.sql.enums.StatementType;
+import dev.manere.utils.sql.statement.SQLBatch;
+import dev.manere.utils.sql.statement.SQLStatement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents a SQL INSERT query builder that allows you to construct an SQL INSERT statement
  * for a specified table with one or more column-value pairs.
+ * <P>
+ * Many rows can be inserted at once, either as chunked multi-row {@code VALUES} statements ({@link #statements()})
+ * or as a JDBC batch ({@link #batch()}), and rows can be upserted with {@link #upsert(List, String...)},
+ * rendered for the {@link #dialect(SQLDialect)} of the query, or with the dialect-specific
+ * {@link #onDuplicateKeyUpdate(String...)} (MySQL) and {@link #onConflict(List, String...)} (SQLite, PostgreSQL).
  */
 public class SQLInsertQuery {
     private String tableName;
-    private final Map<String, Object> values = new HashMap<>();
+    private final Map<String, Object> values = new LinkedHashMap<>();
+    private final List<Map<String, Object>> rows = new ArrayList<>();
+    private List<String> conflictColumns;
+    private List<String> updateColumns;
+    private SQLDialect upsertDialect;
+    private SQLDialect dialect = SQLDialect.MYSQL;
+    private int chunkSize = 500;
 
     /**
      * Static factory method to create an instance of the SQLInsertQuery class.
@@ -31,6 +53,15 @@ public class SQLInsertQuery {
         return this;
     }
 
+    /**
+     * Gets the target table of the INSERT query.
+     *
+     * @return The name of the table, or null if none was set.
+     */
+    public String table() {
+        return tableName;
+    }
+
     /**
      * Adds a column-value pair to the INSERT query.
      *
@@ -43,34 +74,229 @@ public class SQLInsertQuery {
         return this;
     }
 
+    /**
+     * Finishes the current row, so that the next column-value pairs go into a new row.
+     *
+     * @return The SQLInsertQuery instance to allow for method chaining.
+     */
+    public SQLInsertQuery nextRow() {
+        if (!values.isEmpty()) {
+            rows.add(new LinkedHashMap<>(values));
+            values.clear();
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds a full row to the INSERT query. Every row must have the same columns.
+     *
+     * @param row The column-value pairs of the row.
+     * @return The SQLInsertQuery instance to allow for method chaining.
+     */
+    public SQLInsertQuery row(Map<String, Object> row) {
+        nextRow();
+        rows.add(new LinkedHashMap<>(row));
+        return this;
+    }
+
+    /**
+     * Adds many full rows to the INSERT query. Every row must have the same columns.
+     *
+     * @param rows The column-value pairs of every row.
+     * @return The SQLInsertQuery instance to allow for method chaining.
+     */
+    public SQLInsertQuery rows(Collection<? extends Map<String, Object>> rows) {
+        for (Map<String, Object> row : rows) {
+            row(row);
+        }
+
+        return this;
+    }
+
+    /**
+     * Turns the INSERT query into a MySQL upsert, updating the given columns when a row
+     * with the same primary or unique key already exists.
+     *
+     * @param columns The columns to update, or none to update every inserted column.
+     * @return The SQLInsertQuery instance to allow for method chaining.
+     */
+    public SQLInsertQuery onDuplicateKeyUpdate(String... columns) {
+        this.conflictColumns = null;
+        this.updateColumns = Arrays.asList(columns);
+        this.upsertDialect = SQLDialect.MYSQL;
+        return this;
+    }
+
+    /**
+     * Turns the INSERT query into an SQLite/PostgreSQL upsert, updating the given columns
+     * when a row conflicting on the given key columns already exists.
+     *
+     * @param keys    The key columns a conflict is detected on.
+     * @param columns The columns to update, or none to update every inserted column that is not a key column.
+     * @return The SQLInsertQuery instance to allow for method chaining.
+     */
+    public SQLInsertQuery onConflict(List<String> keys, String... columns) {
+        this.conflictColumns = new ArrayList<>(keys);
+        this.updateColumns = Arrays.asList(columns);
+        this.upsertDialect = SQLDialect.SQLITE;
+        return this;
+    }
+
+    /**
+     * Turns the INSERT query into an upsert in the syntax of its dialect, updating the given columns
+     * when a row conflicting on the given key columns already exists.
+     *
+     * @param keys    The key columns a conflict is detected on.
+     * @param columns The columns to update, or none to update every inserted column that is not a key column.
+     * @return The SQLInsertQuery instance to allow for method chaining.
+     */
+    public SQLInsertQuery upsert(List<String> keys, String... columns) {
+        this.conflictColumns = new ArrayList<>(keys);
+        this.updateColumns = Arrays.asList(columns);
+        this.upsertDialect = null;
+        return this;
+    }
+
+    /**
+     * Sets the dialect {@link #upsert(List, String...)} is rendered in, MySQL by default.
+     * Executors set it to the dialect of their connector.
+     *
+     * @param dialect The dialect.
+     * @return The SQLInsertQuery instance to allow for method chaining.
+     */
+    public SQLInsertQuery dialect(SQLDialect dialect) {
+        this.dialect = dialect;
+        return this;
+    }
+
+    /**
+     * Sets how many rows go into a single multi-row statement or batch execution.
+     *
+     * @param chunkSize The number of rows per chunk.
+     * @return The SQLInsertQuery instance to allow for method chaining.
+     */
+    public SQLInsertQuery chunkSize(int chunkSize) {
+        if (chunkSize < 1) throw new IllegalArgumentException("chunkSize must be positive");
+
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
     /**
      * Builds and returns the SQL INSERT query string based on the provided table name and
-     * column-value pairs.
+     * column-value pairs, with every row and the upsert clause, and the values inlined as escaped literals.
+     * Prefer {@link #statement()} or {@link #statements()}, which bind the values instead.
      *
      * @return The constructed SQL INSERT query as a String.
      */
     public String build() {
-        StringBuilder query = new StringBuilder("INSERT INTO ");
-        query.append(tableName).append(" (");
+        return SQLCondition.inline(statement(), dialect);
+    }
 
-        for (String column : values.keySet()) {
-            query.append(column).append(", ");
+    /**
+     * Builds the parameterized SQL INSERT statement, with {@code ?} placeholders instead of inlined values.
+     * Every row goes into a single multi-row {@code VALUES} list.
+     * Columns keep the order they were added in, so the same columns always produce the same statement shape.
+     *
+     * @return The constructed SQL INSERT statement.
+     */
+    public SQLStatement statement() {
+        List<Map<String, Object>> rows = allRows();
+        return chunk(columns(rows), rows);
+    }
+
+    /**
+     * Builds the parameterized SQL INSERT statements, with at most {@link #chunkSize(int)} rows per
+     * multi-row {@code VALUES} list. Full chunks all share the same statement shape.
+     *
+     * @return The constructed SQL INSERT statements, one per chunk.
+     */
+    public List<SQLStatement> statements() {
+        List<Map<String, Object>> rows = allRows();
+        Set<String> columns = columns(rows);
+
+        List<SQLStatement> statements = new ArrayList<>();
+
+        for (int start = 0; start < rows.size(); start += chunkSize) {
+            statements.add(chunk(columns, rows.subList(start, Math.min(rows.size(), start + chunkSize))));
         }
 
-        query.setLength(query.length() - 2); // Remove the last comma and space
-        query.append(") VALUES (");
+        return statements;
+    }
 
-        for (Object value : values.values()) {
-            if (value instanceof String) {
-                query.append("'").append(value).append("', ");
-            } else {
-                query.append(value).append(", ");
+    /**
+     * Builds a JDBC batch of single-row statements, sent with one {@code executeBatch} per chunk.
+     *
+     * @return The constructed SQL INSERT batch.
+     */
+    public SQLBatch batch() {
+        List<Map<String, Object>> rows = allRows();
+        Set<String> columns = columns(rows);
+
+        List<List<Object>> parameters = new ArrayList<>(rows.size());
+
+        for (Map<String, Object> row : rows) {
+            List<Object> values = new ArrayList<>(columns.size());
+
+            for (String column : columns) {
+                values.add(row.get(column));
+            }
+
+            parameters.add(values);
+        }
+
+        return new SQLBatch(StatementType.INSERT, tableName, sql(columns, 1), parameters, chunkSize);
+    }
+
+    private SQLStatement chunk(Set<String> columns, List<Map<String, Object>> rows) {
+        List<Object> parameters = new ArrayList<>(rows.size() * columns.size());
+
+        for (Map<String, Object> row : rows) {
+            for (String column : columns) {
+                parameters.add(row.get(column));
             }
         }
 
-        query.setLength(query.length() - 2); // Remove the last comma and space
-        query.append(")");
+        return new SQLStatement(StatementType.INSERT, tableName, sql(columns, rows.size()), parameters);
+    }
+
+    private String sql(Set<String> columns, int rowCount) {
+        String placeholders = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+
+        StringBuilder query = new StringBuilder("INSERT INTO ");
+        query.append(tableName).append(" (");
+        query.append(String.join(", ", columns));
+        query.append(") VALUES ");
+        query.append(String.join(", ", Collections.nCopies(rowCount, placeholders)));
+
+        if (updateColumns != null) {
+            List<String> updates = new ArrayList<>(updateColumns.isEmpty() ? columns : updateColumns);
+            if (updateColumns.isEmpty() && conflictColumns != null) updates.removeAll(conflictColumns);
+
+            (upsertDialect == null ? dialect : upsertDialect).appendUpsert(query, conflictColumns, updates);
+        }
 
         return query.toString();
     }
+
+    private List<Map<String, Object>> allRows() {
+        List<Map<String, Object>> rows = new ArrayList<>(this.rows);
+        if (!values.isEmpty()) rows.add(values);
+
+        if (rows.isEmpty()) throw new IllegalStateException("No values to insert");
+        return rows;
+    }
+
+    private static Set<String> columns(List<Map<String, Object>> rows) {
+        Set<String> columns = rows.get(0).keySet();
+
+        for (Map<String, Object> row : rows) {
+            if (!row.keySet().equals(columns)) {
+                throw new IllegalStateException("Every inserted row must have the same columns, expected " + columns + " but got " + row.keySet());
+            }
+        }
+
+        return columns;
+    }
 }
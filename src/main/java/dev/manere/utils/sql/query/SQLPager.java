@@ -0,0 +1,162 @@
+package dev.manere.utils.sql.query;
+
+import dev.manere.utils.sql.connection.SQLConnector;
+import dev.manere.utils.sql.result.RowMapper;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Walks the results of a {@link SQLSelectQuery} page by page with keyset pagination.
+ * <P>
+ * After each page, the pager remembers the ORDER BY values of its last row, and the next page
+ * seeks past them instead of skipping rows with {@code OFFSET}. The position can be saved and restored,
+ * for example to resume a leaderboard menu where a player left it.
+ * <pre>{@code
+ * SQLPager<Entry> pager = SQLSelectQuery.of().from("leaderboard")
+ *         .orderBy("score", SortOrder.DESCENDING).orderBy("uuid")
+ *         .limit(45)
+ *         .pager(RowMapper.record(Entry.class));
+ *
+ * executor.page(pager).thenSync(menu::show);
+ * }</pre>
+ * Pagers are not thread-safe, request one page at a time.
+ *
+ * @param <T> The type of the mapped rows.
+ */
+public final class SQLPager<T> {
+    private final SQLSelectQuery query;
+    private final List<String> keys;
+    private final RowMapper<T> mapper;
+    private final int pageSize;
+    private List<Object> position;
+    private boolean exhausted;
+
+    SQLPager(SQLSelectQuery query, List<String> keys, RowMapper<T> mapper, int pageSize) {
+        this.query = query;
+        this.keys = keys;
+        this.mapper = mapper;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Fetches the page following the current position, and moves past it.
+     *
+     * @param connector  The connector the connection was borrowed from, used for its statement cache and metrics.
+     * @param connection The borrowed connection.
+     * @return The rows of the page, empty once every row was read.
+     * @throws SQLException If the query failed.
+     */
+    public List<T> next(SQLConnector connector, Connection connection) throws SQLException {
+        if (exhausted) return List.of();
+
+        query.after(position == null ? new Object[0] : position.toArray());
+
+        PageMapper page = new PageMapper();
+        List<T> rows = connector.query(connection, query.statement(), page);
+        Object[] last = page.last;
+
+        if (last != null) position = Collections.unmodifiableList(Arrays.asList(last));
+
+        // A short page is the last one, which saves querying an empty page
+        if (rows.size() < pageSize) exhausted = true;
+
+        return rows;
+    }
+
+    /**
+     * Checks whether the last page was reached, in which case {@link #next(SQLConnector, Connection)} returns no more rows.
+     *
+     * @return True if every row was read, false otherwise.
+     */
+    public boolean exhausted() {
+        return exhausted;
+    }
+
+    /**
+     * Gets the current position, as the ORDER BY values of the last row read.
+     *
+     * @return The position, or null if no row was read yet.
+     */
+    public List<Object> position() {
+        return position;
+    }
+
+    /**
+     * Moves to a position, as previously returned by {@link #position()}.
+     *
+     * @param position The position, or null to go back to the first row.
+     * @return This SQLPager instance for method chaining.
+     */
+    public SQLPager<T> position(List<Object> position) {
+        this.position = position == null ? null : Collections.unmodifiableList(new ArrayList<>(position));
+        this.exhausted = false;
+        return this;
+    }
+
+    /**
+     * Goes back to the first row.
+     *
+     * @return This SQLPager instance for method chaining.
+     */
+    public SQLPager<T> reset() {
+        return position(null);
+    }
+
+    /**
+     * Maps the rows of a page, remembering the ORDER BY values of the last one.
+     */
+    private final class PageMapper implements RowMapper<T> {
+        private RowMapper<T> compiled = mapper;
+        private int[] indices;
+        private Object[] last;
+
+        @Override
+        public RowMapper<T> compile(ResultSetMetaData metaData) throws SQLException {
+            this.compiled = mapper.compile(metaData);
+            this.indices = indices(metaData);
+            return this;
+        }
+
+        @Override
+        public T map(ResultSet resultSet) throws SQLException {
+            if (indices == null) compile(resultSet.getMetaData());
+
+            T row = compiled.map(resultSet);
+
+            if (last == null) last = new Object[indices.length];
+
+            for (int i = 0; i < indices.length; i++) {
+                last[i] = resultSet.getObject(indices[i]);
+            }
+
+            return row;
+        }
+    }
+
+    private int[] indices(ResultSetMetaData metaData) throws SQLException {
+        int[] indices = new int[keys.size()];
+
+        for (int i = 0; i < indices.length; i++) {
+            String key = keys.get(i);
+            String name = key.substring(key.lastIndexOf('.') + 1);
+
+            for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                if (metaData.getColumnLabel(column).equalsIgnoreCase(name)) {
+                    indices[i] = column;
+                    break;
+                }
+            }
+
+            if (indices[i] == 0) throw new IllegalStateException("ORDER BY column " + key + " is not selected");
+        }
+
+        return indices;
+    }
+}
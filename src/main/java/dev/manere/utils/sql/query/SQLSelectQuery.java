@@ -1,17 +1,39 @@
 package dev.manere.utils.sql.query;
 
 import dev.manere.utils.sql.enums.QueryOperation;
+import dev.manere.utils.sql.enums.SQLDialect;
+import dev.manere.utils.sql.enums.SortOrder;
+import dev.manere.utils.sql.enums.StatementType;
+import dev.manere.utils.sql.result.RowMapper;
+import dev.manere.utils.sql.statement.SQLStatement;
 
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This class provides a builder for generating SQL SELECT queries.
+ * <P>
+ * Conditions added with {@link #where(String, QueryOperation, Object)} are combined with AND, use {@link SQLCondition}
+ * for OR and nested conditions. Loading many rows at once is a single query with an {@code IN} condition:
+ * <pre>{@code
+ * SQLSelectQuery.of().from("player_stats").where("uuid", QueryOperation.IN, uuids);
+ * }</pre>
+ * <P>
+ * Large tables can be walked page by page with keyset pagination: order by unique columns,
+ * set a limit, and seek past the last row of the previous page with {@link #after(Object...)},
+ * or let a {@link SQLPager} do it, see {@link #pager(RowMapper)}. Unlike {@code OFFSET},
+ * seeking uses the index of the ORDER BY columns, so every page costs the same.
  */
 public class SQLSelectQuery {
     private String tableName;
-    private String whereColumn;
-    private QueryOperation operation;
-    private Object value;
+    private final List<String> columns = new ArrayList<>();
+    private SQLCondition condition;
+    private final Map<String, SortOrder> orderBy = new LinkedHashMap<>();
+    private int limit = -1;
+    private List<Object> after;
 
     /**
      * Creates a new instance of SQLSelectQuery.
@@ -34,36 +56,216 @@ public class SQLSelectQuery {
     }
 
     /**
-     * Specifies a WHERE clause for the SELECT query.
+     * Sets the columns selected by the SELECT query, instead of every column.
+     *
+     * @param columns The columns to select.
+     * @return The current SQLSelectQuery instance for method chaining.
+     */
+    public SQLSelectQuery columns(String... columns) {
+        this.columns.clear();
+        this.columns.addAll(Arrays.asList(columns));
+        return this;
+    }
+
+    /**
+     * Specifies a WHERE clause for the SELECT query, combined with AND with the previous ones.
      *
      * @param column    The column to apply the condition on.
      * @param operation The operation for the condition (e.g., EQUALS, LESS_THAN, etc.).
-     * @param value     The value to compare against in the condition.
+     * @param value     The value to compare against in the condition, a collection or an array for IN and BETWEEN.
      * @return The current SQLSelectQuery instance for method chaining.
      */
     public SQLSelectQuery where(String column, QueryOperation operation, Object value) {
-        this.whereColumn = column;
-        this.operation = operation;
-        this.value = value;
+        return where(SQLCondition.of(column, operation, value));
+    }
+
+    /**
+     * Specifies a WHERE clause for the SELECT query, combined with AND with the previous ones.
+     *
+     * @param condition The condition.
+     * @return The current SQLSelectQuery instance for method chaining.
+     */
+    public SQLSelectQuery where(SQLCondition condition) {
+        this.condition = this.condition == null ? condition : this.condition.and(condition);
+        return this;
+    }
+
+    /**
+     * Specifies an alternative WHERE clause for the SELECT query, combined with OR with the previous ones.
+     *
+     * @param condition The condition.
+     * @return The current SQLSelectQuery instance for method chaining.
+     */
+    public SQLSelectQuery or(SQLCondition condition) {
+        this.condition = this.condition == null ? condition : this.condition.or(condition);
+        return this;
+    }
+
+    /**
+     * Adds an ascending column to the ORDER BY clause of the SELECT query.
+     *
+     * @param column The column to order by.
+     * @return The current SQLSelectQuery instance for method chaining.
+     */
+    public SQLSelectQuery orderBy(String column) {
+        return orderBy(column, SortOrder.ASCENDING);
+    }
+
+    /**
+     * Adds a column to the ORDER BY clause of the SELECT query.
+     *
+     * @param column The column to order by.
+     * @param order  The direction of the column.
+     * @return The current SQLSelectQuery instance for method chaining.
+     */
+    public SQLSelectQuery orderBy(String column, SortOrder order) {
+        this.orderBy.put(column, order);
         return this;
     }
 
     /**
-     * Builds and returns the SQL SELECT query as a string.
+     * Limits the number of rows returned by the SELECT query.
+     *
+     * @param limit The maximum number of rows, or a negative number for no limit.
+     * @return The current SQLSelectQuery instance for method chaining.
+     */
+    public SQLSelectQuery limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Only selects the rows coming after a position in the ORDER BY order, for keyset pagination.
+     * The position is given as one value per ORDER BY column, usually those of the last row of the previous page.
+     *
+     * @param values The values of the ORDER BY columns, in order, or none to start from the first row.
+     * @return The current SQLSelectQuery instance for method chaining.
+     */
+    public SQLSelectQuery after(Object... values) {
+        this.after = values.length == 0 ? null : Arrays.asList(values);
+        return this;
+    }
+
+    /**
+     * Creates a keyset pager walking the results of this query page by page.
+     * The query must be ordered by columns uniquely identifying a row, and limited to the page size.
+     * The pager takes over the {@link #after(Object...)} position of this query.
+     *
+     * @param mapper The mapper of the rows.
+     * @param <T>    The type of the mapped rows.
+     * @return A new SQLPager.
+     */
+    public <T> SQLPager<T> pager(RowMapper<T> mapper) {
+        if (orderBy.isEmpty()) throw new IllegalStateException("Keyset pagination requires an ORDER BY");
+        if (limit < 1) throw new IllegalStateException("Keyset pagination requires a LIMIT");
+
+        return new SQLPager<>(this, List.copyOf(orderBy.keySet()), mapper, limit);
+    }
+
+    /**
+     * Builds and returns the SQL SELECT query as a string, with the values inlined as MySQL literals.
+     * Prefer {@link #statement()}, which binds the values instead.
      *
      * @return The generated SQL SELECT query.
      */
     public String build() {
-        StringBuilder query = new StringBuilder("SELECT * FROM ");
-        query.append(tableName);
+        return build(SQLDialect.MYSQL);
+    }
+
+    /**
+     * Builds the SQL SELECT query, with the values inlined as literals escaped for a dialect.
+     * Prefer {@link #statement()}, which binds the values instead.
+     *
+     * @param dialect The dialect the literals are escaped for.
+     * @return The generated SQL SELECT query.
+     */
+    public String build(SQLDialect dialect) {
+        return SQLCondition.inline(statement(), dialect);
+    }
+
+    /**
+     * Builds the parameterized SQL SELECT statement, with {@code ?} placeholders instead of inlined values.
+     *
+     * @return The generated SQL SELECT statement.
+     */
+    public SQLStatement statement() {
+        StringBuilder query = new StringBuilder();
+        List<Object> parameters = new ArrayList<>();
+
+        append(query, parameters);
+        return new SQLStatement(StatementType.SELECT, tableName, query.toString(), parameters);
+    }
+
+    /**
+     * Appends the whole query, binding values to the parameters, or inlining them if the parameters are null.
+     */
+    private void append(StringBuilder query, List<Object> parameters) {
+        query.append("SELECT ").append(columns.isEmpty() ? "*" : String.join(", ", columns));
+        query.append(" FROM ").append(tableName);
 
-        if (whereColumn != null) {
-            query.append(" WHERE ").append(whereColumn).append(" ");
-            if (Objects.requireNonNull(operation) == QueryOperation.EQUALS) {
-                query.append("=").append(" '").append(value).append("'");
+        if (condition != null) {
+            query.append(" WHERE ");
+            condition.append(query, parameters);
+        }
+
+        if (after != null) {
+            if (after.size() != orderBy.size()) {
+                throw new IllegalStateException("Expected " + orderBy.size() + " values to seek after, got " + after.size());
+            }
+
+            query.append(condition == null ? " WHERE " : " AND ");
+            appendSeek(query, parameters);
+        }
+
+        if (!orderBy.isEmpty()) {
+            query.append(" ORDER BY ");
+
+            String separator = "";
+
+            for (Map.Entry<String, SortOrder> entry : orderBy.entrySet()) {
+                query.append(separator).append(entry.getKey()).append(" ").append(entry.getValue().keyword());
+                separator = ", ";
+            }
+        }
+
+        if (limit >= 0) query.append(" LIMIT ").append(limit);
+    }
+
+    private void appendSeek(StringBuilder query, List<Object> parameters) {
+        List<String> keys = List.copyOf(orderBy.keySet());
+        List<SortOrder> orders = List.copyOf(orderBy.values());
+
+        if (orders.stream().distinct().count() == 1) {
+            // One direction: a single row value comparison, which databases match against a composite index
+            query.append("(").append(String.join(", ", keys)).append(") ").append(orders.getFirst().seek()).append(" (");
+
+            for (int i = 0; i < keys.size(); i++) {
+                if (i > 0) query.append(", ");
+                SQLCondition.appendValue(query, parameters, after.get(i));
             }
+
+            query.append(")");
+            return;
+        }
+
+        // Mixed directions: (a > ?) OR (a = ? AND b < ?) OR ...
+        query.append("(");
+
+        for (int i = 0; i < keys.size(); i++) {
+            if (i > 0) query.append(" OR ");
+            query.append("(");
+
+            for (int j = 0; j < i; j++) {
+                query.append(keys.get(j)).append(" = ");
+                SQLCondition.appendValue(query, parameters, after.get(j));
+                query.append(" AND ");
+            }
+
+            query.append(keys.get(i)).append(" ").append(orders.get(i).seek()).append(" ");
+            SQLCondition.appendValue(query, parameters, after.get(i));
+            query.append(")");
         }
 
-        return query.toString();
+        query.append(")");
     }
 }
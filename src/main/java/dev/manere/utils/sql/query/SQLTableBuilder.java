@@ -1,16 +1,25 @@
 package dev.manere.utils.sql.query;
 
 import dev.manere.utils.sql.enums.PrimaryColumn;
+import dev.manere.utils.sql.enums.SQLDialect;
+import dev.manere.utils.sql.enums.StatementType;
+import dev.manere.utils.sql.statement.SQLStatement;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * The `SQLTableBuilder` class provides a convenient way to construct SQL table creation queries.
+ * <P>
+ * Secondary indexes declared with {@link #index(String, String...)} are created along with the table,
+ * inline for MySQL and as separate statements for embedded dialects, see {@link #statements()}.
+ * Columns used in WHERE clauses and ORDER BY clauses should be indexed, otherwise every query scans the whole table.
  */
 public class SQLTableBuilder {
     private String tableName;
     private final List<Column> columns = new ArrayList<>();
+    private final List<Index> indexes = new ArrayList<>();
+    private SQLDialect dialect = SQLDialect.MYSQL;
 
     /**
      * Constructs and returns a new instance of SQLTableBuilder.
@@ -54,6 +63,87 @@ public class SQLTableBuilder {
         return isPrimary ? column(name, type, PrimaryColumn.TRUE) : column(name, type, PrimaryColumn.FALSE);
     }
 
+    /**
+     * Adds a secondary index to the table being built.
+     * The order of the columns matters: the index serves conditions on a leading subset of its columns.
+     *
+     * @param name    The name of the index.
+     * @param columns The indexed columns, in order.
+     * @return The current instance of SQLTableBuilder.
+     */
+    public SQLTableBuilder index(String name, String... columns) {
+        indexes.add(new Index(name, List.of(columns), false));
+        return this;
+    }
+
+    /**
+     * Adds a unique secondary index to the table being built, rejecting rows with the same values in the indexed columns.
+     *
+     * @param name    The name of the index.
+     * @param columns The indexed columns, in order.
+     * @return The current instance of SQLTableBuilder.
+     */
+    public SQLTableBuilder uniqueIndex(String name, String... columns) {
+        indexes.add(new Index(name, List.of(columns), true));
+        return this;
+    }
+
+    /**
+     * Sets the dialect the table is created in, MySQL by default.
+     * Executors set it to the dialect of their connector.
+     *
+     * @param dialect The dialect.
+     * @return The current instance of SQLTableBuilder.
+     */
+    public SQLTableBuilder dialect(SQLDialect dialect) {
+        this.dialect = dialect;
+        return this;
+    }
+
+    /**
+     * Builds the statement creating the table, to run through an executor.
+     * Indexes that the dialect cannot declare inline are not included, see {@link #statements()}.
+     *
+     * @return The statement creating the table.
+     */
+    public SQLStatement statement() {
+        return new SQLStatement(StatementType.OTHER, tableName, build(), List.of());
+    }
+
+    /**
+     * Builds every statement creating the table and its indexes, to run through an executor in order.
+     *
+     * @return The statement creating the table, followed by the index statements the dialect needs.
+     */
+    public List<SQLStatement> statements() {
+        List<SQLStatement> statements = new ArrayList<>();
+        statements.add(statement());
+
+        if (!dialect.inlineIndexes()) {
+            for (String query : buildIndexes()) {
+                statements.add(new SQLStatement(StatementType.OTHER, tableName, query, List.of()));
+            }
+        }
+
+        return statements;
+    }
+
+    /**
+     * Builds the queries creating the secondary indexes on their own,
+     * to add them to a table created before they were declared.
+     *
+     * @return One CREATE INDEX query per index.
+     */
+    public List<String> buildIndexes() {
+        List<String> queries = new ArrayList<>(indexes.size());
+
+        for (Index index : indexes) {
+            queries.add(dialect.createIndex(index.name(), tableName, index.columns(), index.unique()));
+        }
+
+        return queries;
+    }
+
     /**
      * Builds and returns the SQL query for creating the table.
      *
@@ -88,6 +178,11 @@ public class SQLTableBuilder {
             query.append(")");
         }
 
+        for (Index index : dialect.inlineIndexes() ? indexes : List.<Index>of()) {
+            query.append(", ").append(index.unique() ? "UNIQUE INDEX " : "INDEX ").append(index.name())
+                    .append(" (").append(String.join(", ", index.columns())).append(")");
+        }
+
         query.append(")");
 
         return query.toString();
@@ -99,4 +194,11 @@ public class SQLTableBuilder {
     public record Column(String name, String type, PrimaryColumn isPrimary) {
 
     }
+
+    /**
+     * A record representing a secondary index of the table.
+     */
+    public record Index(String name, List<String> columns, boolean unique) {
+
+    }
 }
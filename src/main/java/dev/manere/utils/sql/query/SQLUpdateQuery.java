@@ -1,19 +1,26 @@
 package dev.manere.utils.sql.query;
 
 import dev.manere.utils.sql.enums.QueryOperation;
+import dev.manere.utils.sql.enums.SQLDialect;
+import dev.manere.utils.sql.enums.StatementType;
+import dev.manere.utils.sql.statement.SQLStatement;
 
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * A utility class for constructing SQL UPDATE queries.
+ * <P>
+ * Several columns can be set in one statement, and conditions added with {@link #where(String, QueryOperation, Object)}
+ * are combined with AND, use {@link SQLCondition} for OR and nested conditions.
+ * A WHERE clause is required, so a whole table is never updated by mistake.
  */
 public class SQLUpdateQuery {
     private String tableName;
-    private String setColumn;
-    private Object setValue;
-    private String whereColumn;
-    private QueryOperation operation;
-    private Object whereValue;
+    private final Map<String, Object> values = new LinkedHashMap<>();
+    private SQLCondition condition;
 
     /**
      * Creates a new instance of SQLUpdateQuery.
@@ -34,52 +41,103 @@ public class SQLUpdateQuery {
     }
 
     /**
-     * Sets the column and value to be updated.
+     * Adds a column and value to be updated.
      * @param column The name of the column.
      * @param value The value to be set in the column.
      * @return The updated SQLUpdateQuery instance.
      */
     public SQLUpdateQuery value(String column, Object value) {
-        this.setColumn = column;
-        this.setValue = value;
+        this.values.put(column, value);
         return this;
     }
 
     /**
-     * Sets the column, operation, and value for the WHERE clause.
+     * Adds several columns and values to be updated, in the iteration order of the map.
+     * @param values The values to be set, by column.
+     * @return The updated SQLUpdateQuery instance.
+     */
+    public SQLUpdateQuery values(Map<String, ?> values) {
+        this.values.putAll(values);
+        return this;
+    }
+
+    /**
+     * Sets the column, operation, and value for the WHERE clause, combined with AND with the previous ones.
      * @param column The name of the column in the WHERE clause.
      * @param operation The operation to be performed (e.g., EQUALS).
-     * @param value The value to be used in the WHERE clause.
+     * @param value The value to be used in the WHERE clause, a collection or an array for IN and BETWEEN.
      * @return The updated SQLUpdateQuery instance.
      */
     public SQLUpdateQuery where(String column, QueryOperation operation, Object value) {
-        this.whereColumn = column;
-        this.operation = operation;
-        this.whereValue = value;
+        return where(SQLCondition.of(column, operation, value));
+    }
+
+    /**
+     * Adds a condition to the WHERE clause, combined with AND with the previous ones.
+     * @param condition The condition.
+     * @return The updated SQLUpdateQuery instance.
+     */
+    public SQLUpdateQuery where(SQLCondition condition) {
+        this.condition = this.condition == null ? condition : this.condition.and(condition);
         return this;
     }
 
     /**
-     * Builds the SQL UPDATE query based on the provided information.
+     * Adds an alternative condition to the WHERE clause, combined with OR with the previous ones.
+     * @param condition The condition.
+     * @return The updated SQLUpdateQuery instance.
+     */
+    public SQLUpdateQuery or(SQLCondition condition) {
+        this.condition = this.condition == null ? condition : this.condition.or(condition);
+        return this;
+    }
+
+    /**
+     * Builds the SQL UPDATE query based on the provided information, with the values inlined as MySQL literals.
+     * Prefer {@link #statement()}, which binds the values instead.
      * @return The constructed SQL UPDATE query as a String.
      */
     public String build() {
-        StringBuilder query = new StringBuilder("UPDATE ");
-        query.append(tableName).append(" SET ");
-        query.append(setColumn).append(" = ");
-
-        if (setValue instanceof String) {
-            query.append("'").append(setValue).append("'");
-        } else {
-            query.append(setValue);
-        }
+        return build(SQLDialect.MYSQL);
+    }
+
+    /**
+     * Builds the SQL UPDATE query, with the values inlined as literals escaped for a dialect.
+     * Prefer {@link #statement()}, which binds the values instead.
+     * @param dialect The dialect the literals are escaped for.
+     * @return The constructed SQL UPDATE query as a String.
+     */
+    public String build(SQLDialect dialect) {
+        return SQLCondition.inline(statement(), dialect);
+    }
+
+    /**
+     * Builds the parameterized SQL UPDATE statement, with {@code ?} placeholders instead of inlined values.
+     * @return The constructed SQL UPDATE statement.
+     */
+    public SQLStatement statement() {
+        StringBuilder query = new StringBuilder();
+        List<Object> parameters = new ArrayList<>();
+
+        append(query, parameters);
+        return new SQLStatement(StatementType.UPDATE, tableName, query.toString(), parameters);
+    }
+
+    private void append(StringBuilder query, List<Object> parameters) {
+        if (values.isEmpty()) throw new IllegalStateException("No value set");
+        if (condition == null) throw new IllegalStateException("No WHERE clause set");
+
+        query.append("UPDATE ").append(tableName).append(" SET ");
 
-        query.append(" WHERE ").append(whereColumn).append(" ");
+        String separator = "";
 
-        if (Objects.requireNonNull(operation) == QueryOperation.EQUALS) {
-            query.append("=").append(" '").append(whereValue).append("'");
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            query.append(separator).append(entry.getKey()).append(" = ");
+            SQLCondition.appendValue(query, parameters, entry.getValue());
+            separator = ", ";
         }
 
-        return query.toString();
+        query.append(" WHERE ");
+        condition.append(query, parameters);
     }
 }
@@ -0,0 +1,218 @@
+package dev.manere.utils.sql.result;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Date;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Maps rows into records through their canonical constructor.
+ * <P>
+ * Reflection only happens once, when the mapper is created: the canonical constructor is looked up as a method handle
+ * and every component gets a converter from JDBC values to its type. Compiling the mapper for a result set
+ * then resolves each component to a column index, so mapping a row is a plain loop over indices.
+ * <P>
+ * Supported component types are primitives and their wrappers, {@link String}, {@link BigDecimal}, {@link UUID}
+ * (as a string or 16 bytes), {@link Instant} (from any timestamp), enums (by name), and any type the driver returns as-is.
+ *
+ * @param <R> The type of the record.
+ */
+public final class RecordMapper<R extends Record> implements RowMapper<R> {
+    private final Class<R> type;
+    private final String[] names;
+    private final Converter[] converters;
+    private final MethodHandle constructor;
+
+    private RecordMapper(Class<R> type) {
+        RecordComponent[] components = type.getRecordComponents();
+        if (components == null) throw new IllegalArgumentException(type.getName() + " is not a record");
+
+        this.type = type;
+        this.names = new String[components.length];
+        this.converters = new Converter[components.length];
+
+        Class<?>[] parameters = new Class<?>[components.length];
+
+        for (int i = 0; i < components.length; i++) {
+            names[i] = normalize(components[i].getName());
+            parameters[i] = components[i].getType();
+            converters[i] = converter(parameters[i]);
+        }
+
+        try {
+            MethodHandle canonical = MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                    .findConstructor(type, MethodType.methodType(void.class, parameters));
+
+            this.constructor = canonical.asType(canonical.type().changeReturnType(Object.class))
+                    .asSpreader(Object[].class, components.length);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot access the canonical constructor of " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Creates a new record mapper.
+     *
+     * @param type The class of the record.
+     * @param <R>  The type of the record.
+     * @return A new RecordMapper.
+     */
+    public static <R extends Record> RecordMapper<R> of(Class<R> type) {
+        return new RecordMapper<>(type);
+    }
+
+    /**
+     * Maps the current row, compiling this mapper first. Prefer mapping through the compiled mapper.
+     *
+     * @param resultSet The result set, positioned on the row to map.
+     * @return The mapped record.
+     * @throws SQLException If the row could not be read.
+     */
+    @Override
+    public R map(ResultSet resultSet) throws SQLException {
+        return compile(resultSet.getMetaData()).map(resultSet);
+    }
+
+    /**
+     * Resolves every component of the record to a column of the result set.
+     *
+     * @param metaData The metadata of the result set.
+     * @return The compiled mapper.
+     * @throws SQLException If the metadata could not be read.
+     * @throws IllegalStateException If a component has no matching column.
+     */
+    @Override
+    public RowMapper<R> compile(ResultSetMetaData metaData) throws SQLException {
+        int[] indices = new int[names.length];
+
+        for (int i = 0; i < names.length; i++) {
+            indices[i] = -1;
+
+            for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                if (names[i].equals(normalize(metaData.getColumnLabel(column)))) {
+                    indices[i] = column;
+                    break;
+                }
+            }
+
+            if (indices[i] == -1) {
+                throw new IllegalStateException("No column matches component " + names[i] + " of " + type.getName());
+            }
+        }
+
+        return resultSet -> {
+            Object[] arguments = new Object[indices.length];
+
+            for (int i = 0; i < indices.length; i++) {
+                arguments[i] = converters[i].convert(resultSet.getObject(indices[i]));
+            }
+
+            try {
+                return type.cast(constructor.invokeExact(arguments));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException("Failed to construct " + type.getName(), throwable);
+            }
+        };
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static Converter converter(Class<?> type) {
+        if (type == int.class || type == Integer.class) return number(type, Number::intValue, Integer::parseInt, 0);
+        if (type == long.class || type == Long.class) return number(type, Number::longValue, Long::parseLong, 0L);
+        if (type == double.class || type == Double.class) return number(type, Number::doubleValue, Double::parseDouble, 0D);
+        if (type == float.class || type == Float.class) return number(type, Number::floatValue, Float::parseFloat, 0F);
+        if (type == short.class || type == Short.class) return number(type, Number::shortValue, Short::parseShort, (short) 0);
+        if (type == byte.class || type == Byte.class) return number(type, Number::byteValue, Byte::parseByte, (byte) 0);
+
+        if (type == boolean.class || type == Boolean.class) {
+            Object fallback = type.isPrimitive() ? false : null;
+
+            return value -> switch (value) {
+                case null -> fallback;
+                case Boolean bool -> bool;
+                case Number number -> number.longValue() != 0;
+                default -> Boolean.parseBoolean(value.toString());
+            };
+        }
+
+        if (type == String.class) return value -> value == null ? null : value.toString();
+        if (type == BigDecimal.class) return value -> value == null || value instanceof BigDecimal ? value : new BigDecimal(value.toString());
+
+        if (type == UUID.class) {
+            return value -> switch (value) {
+                case null -> null;
+                case UUID uuid -> uuid;
+                case byte[] bytes -> {
+                    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                    yield new UUID(buffer.getLong(), buffer.getLong());
+                }
+                default -> UUID.fromString(value.toString());
+            };
+        }
+
+        if (type == Instant.class) {
+            return value -> switch (value) {
+                case null -> null;
+                case Instant instant -> instant;
+                case Timestamp timestamp -> timestamp.toInstant();
+                case LocalDateTime dateTime -> Timestamp.valueOf(dateTime).toInstant();
+                case OffsetDateTime dateTime -> dateTime.toInstant();
+                case Date date -> date.toInstant();
+                case Number millis -> Instant.ofEpochMilli(millis.longValue());
+                default -> Instant.parse(value.toString());
+            };
+        }
+
+        if (type.isEnum()) {
+            Object[] constants = type.getEnumConstants();
+
+            return value -> {
+                if (value == null) return null;
+
+                String name = value.toString();
+
+                for (Object constant : constants) {
+                    if (((Enum<?>) constant).name().equals(name)) return constant;
+                }
+
+                throw new IllegalArgumentException("No constant " + name + " in " + type.getName());
+            };
+        }
+
+        return value -> value;
+    }
+
+    private static Converter number(Class<?> type, Function<Number, Object> cast, Function<String, Object> parse, Object zero) {
+        Object fallback = type.isPrimitive() ? zero : null;
+
+        return value -> switch (value) {
+            case null -> fallback;
+            case Number number -> cast.apply(number);
+            case Boolean bool -> cast.apply(bool ? 1 : 0);
+            default -> parse.apply(value.toString());
+        };
+    }
+
+    @FunctionalInterface
+    private interface Converter {
+        Object convert(Object value);
+    }
+}
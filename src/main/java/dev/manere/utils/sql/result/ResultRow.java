@@ -0,0 +1,135 @@
+package dev.manere.utils.sql.result;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A single row of a query result.
+ * <P>
+ * Columns can be read by their 0-based index or by their label, ignoring case.
+ */
+public final class ResultRow {
+    private final Map<String, Integer> index;
+    private final Object[] values;
+
+    ResultRow(Map<String, Integer> index, Object[] values) {
+        this.index = index;
+        this.values = values;
+    }
+
+    /**
+     * Gets the value of a column.
+     *
+     * @param column The 0-based index of the column.
+     * @return The value, or null if it is SQL NULL.
+     */
+    public Object get(int column) {
+        return values[column];
+    }
+
+    /**
+     * Gets the value of a column.
+     *
+     * @param column The label of the column, ignoring case.
+     * @return The value, or null if it is SQL NULL.
+     * @throws IllegalArgumentException If there is no such column.
+     */
+    public Object get(String column) {
+        Integer position = index.get(column);
+        if (position == null) throw new IllegalArgumentException("Unknown column: " + column);
+
+        return values[position];
+    }
+
+    /**
+     * Checks whether this row has a column.
+     *
+     * @param column The label of the column, ignoring case.
+     * @return True if the column exists, false otherwise.
+     */
+    public boolean has(String column) {
+        return index.containsKey(column);
+    }
+
+    /**
+     * Gets the value of a column as a string.
+     *
+     * @param column The label of the column, ignoring case.
+     * @return The value, or null if it is SQL NULL.
+     */
+    public String getString(String column) {
+        Object value = get(column);
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * Gets the value of a column as an int.
+     *
+     * @param column The label of the column, ignoring case.
+     * @return The value, or 0 if it is SQL NULL.
+     */
+    public int getInt(String column) {
+        return get(column) instanceof Number number ? number.intValue() : Integer.parseInt(orZero(column));
+    }
+
+    /**
+     * Gets the value of a column as a long.
+     *
+     * @param column The label of the column, ignoring case.
+     * @return The value, or 0 if it is SQL NULL.
+     */
+    public long getLong(String column) {
+        return get(column) instanceof Number number ? number.longValue() : Long.parseLong(orZero(column));
+    }
+
+    /**
+     * Gets the value of a column as a double.
+     *
+     * @param column The label of the column, ignoring case.
+     * @return The value, or 0 if it is SQL NULL.
+     */
+    public double getDouble(String column) {
+        return get(column) instanceof Number number ? number.doubleValue() : Double.parseDouble(orZero(column));
+    }
+
+    /**
+     * Gets the value of a column as a boolean.
+     * Numbers are true when not 0, as MySQL stores booleans as {@code TINYINT(1)}.
+     *
+     * @param column The label of the column, ignoring case.
+     * @return The value, or false if it is SQL NULL.
+     */
+    public boolean getBoolean(String column) {
+        return switch (get(column)) {
+            case null -> false;
+            case Boolean bool -> bool;
+            case Number number -> number.longValue() != 0;
+            case Object value -> Boolean.parseBoolean(value.toString());
+        };
+    }
+
+    /**
+     * Gets the value of a column as a UUID, as bound by {@link dev.manere.utils.sql.statement.SQLStatement}.
+     *
+     * @param column The label of the column, ignoring case.
+     * @return The value, or null if it is SQL NULL.
+     */
+    public UUID getUUID(String column) {
+        return switch (get(column)) {
+            case null -> null;
+            case UUID uuid -> uuid;
+            case Object value -> UUID.fromString(value.toString());
+        };
+    }
+
+    private String orZero(String column) {
+        String value = getString(column);
+        return value == null ? "0" : value;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultRow" + Arrays.toString(values);
+    }
+}
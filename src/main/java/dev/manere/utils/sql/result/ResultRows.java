@@ -0,0 +1,130 @@
+package dev.manere.utils.sql.result;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The rows of a query result, fully read into memory so they can outlive the connection they were read from.
+ * <P>
+ * Every row shares the same column index, so reading a result only allocates one value array per row.
+ */
+public final class ResultRows implements Iterable<ResultRow> {
+    private static final ResultRows EMPTY = new ResultRows(List.of(), List.of());
+
+    private final List<String> columns;
+    private final List<ResultRow> rows;
+
+    private ResultRows(List<String> columns, List<ResultRow> rows) {
+        // Read-only, a result may be shared by every hit of the query cache
+        this.columns = Collections.unmodifiableList(columns);
+        this.rows = Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * Gets an empty result, without any column or row.
+     *
+     * @return An empty result.
+     */
+    public static ResultRows empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Reads every remaining row of a result set.
+     * The result set is not closed.
+     *
+     * @param resultSet The result set to read.
+     * @return The rows read.
+     * @throws SQLException If the result set could not be read.
+     */
+    public static ResultRows read(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int count = metaData.getColumnCount();
+
+        List<String> columns = new ArrayList<>(count);
+        Map<String, Integer> index = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        for (int column = 1; column <= count; column++) {
+            String label = metaData.getColumnLabel(column);
+
+            columns.add(label);
+            index.putIfAbsent(label, column - 1);
+        }
+
+        List<ResultRow> rows = new ArrayList<>();
+
+        while (resultSet.next()) {
+            Object[] values = new Object[count];
+
+            for (int column = 0; column < count; column++) {
+                values[column] = resultSet.getObject(column + 1);
+            }
+
+            rows.add(new ResultRow(index, values));
+        }
+
+        return new ResultRows(Collections.unmodifiableList(columns), Collections.unmodifiableList(rows));
+    }
+
+    /**
+     * Gets the column labels of this result, in order.
+     *
+     * @return The column labels, read-only.
+     */
+    public List<String> columns() {
+        return columns;
+    }
+
+    /**
+     * Gets the rows of this result, in order.
+     *
+     * @return The rows, read-only.
+     */
+    public List<ResultRow> rows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of rows of this result.
+     *
+     * @return The number of rows.
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Checks whether this result has no row.
+     *
+     * @return True if there is no row, false otherwise.
+     */
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
+    /**
+     * Gets the first row of this result.
+     *
+     * @return The first row, or null if there is no row.
+     */
+    public ResultRow first() {
+        return rows.isEmpty() ? null : rows.getFirst();
+    }
+
+    @Override
+    public Iterator<ResultRow> iterator() {
+        return rows.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "ResultRows[columns=" + columns + ", rows=" + rows.size() + "]";
+    }
+}
@@ -0,0 +1,49 @@
+package dev.manere.utils.sql.result;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a result set into a value.
+ * <P>
+ * Mappers are compiled once per result set with {@link #compile(ResultSetMetaData)}, which lets them
+ * resolve column labels to column indices up front instead of looking columns up by label on every row.
+ *
+ * @param <T> The type of the mapped values.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    /**
+     * Maps the current row of a result set.
+     *
+     * @param resultSet The result set, positioned on the row to map.
+     * @return The mapped value.
+     * @throws SQLException If the row could not be read.
+     */
+    T map(ResultSet resultSet) throws SQLException;
+
+    /**
+     * Compiles this mapper for the columns of a result set. Called once before mapping any row of it.
+     * The default implementation returns this mapper.
+     *
+     * @param metaData The metadata of the result set.
+     * @return The compiled mapper.
+     * @throws SQLException If the metadata could not be read.
+     */
+    default RowMapper<T> compile(ResultSetMetaData metaData) throws SQLException {
+        return this;
+    }
+
+    /**
+     * Creates a mapper of rows into records, matching every record component to the column
+     * with the same name, ignoring case and underscores, so {@code lastSeen} matches {@code last_seen}.
+     *
+     * @param type The class of the record.
+     * @param <R>  The type of the record.
+     * @return A new mapper.
+     */
+    static <R extends Record> RowMapper<R> record(Class<R> type) {
+        return RecordMapper.of(type);
+    }
+}
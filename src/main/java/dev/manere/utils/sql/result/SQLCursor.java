@@ -0,0 +1,202 @@
+package dev.manere.utils.sql.result;
+
+import dev.manere.utils.sql.connection.SQLConnector;
+import dev.manere.utils.sql.metrics.SQLMetrics;
+import dev.manere.utils.sql.statement.SQLStatement;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A forward-only cursor over the rows of a query, mapping each row as it is read instead of loading the whole result.
+ * <P>
+ * The fetch size tells the driver how many rows to fetch per round trip. With MySQL Connector/J, it is only honored
+ * with the {@code useCursorFetch=true} driver property, see {@link dev.manere.utils.sql.auth.SQLAuthentication#property(String, String)},
+ * otherwise the driver reads the whole result up front.
+ * <P>
+ * The connection must not run other statements until the cursor is closed. Failures while reading rows
+ * are thrown as {@link IllegalStateException}.
+ * <P>
+ * The cursor is recorded by the metrics of its connector once closed, from the moment it was opened,
+ * with the number of rows read through it.
+ *
+ * @param <T> The type of the mapped rows.
+ */
+public final class SQLCursor<T> implements Iterator<T>, AutoCloseable {
+    private final PreparedStatement statement;
+    private final boolean cached;
+    private final ResultSet resultSet;
+    private final RowMapper<T> mapper;
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private final SQLMetrics metrics;
+    private final SQLStatement query;
+    private final long start;
+
+    private int count;
+    private boolean failed;
+
+    private boolean fetched;
+    private boolean hasRow;
+    private boolean closed;
+
+    private SQLCursor(PreparedStatement statement, boolean cached, ResultSet resultSet, RowMapper<T> mapper, SQLMetrics metrics, SQLStatement query, long start) {
+        this.statement = statement;
+        this.cached = cached;
+        this.resultSet = resultSet;
+        this.mapper = mapper;
+        this.metrics = metrics;
+        this.query = query;
+        this.start = start;
+    }
+
+    /**
+     * Runs a query on a borrowed connection and opens a cursor over its result.
+     * The connection is not returned to the pool when the cursor is closed, unless registered with {@link #closing(AutoCloseable)}.
+     *
+     * @param connector  The connector the connection was borrowed from, used for its statement cache.
+     * @param connection The borrowed connection.
+     * @param query      The query to run.
+     * @param fetchSize  The number of rows fetched per round trip, or 0 to let the driver decide.
+     * @param mapper     The mapper of the rows.
+     * @param <T>        The type of the mapped rows.
+     * @return A new SQLCursor, which must be closed.
+     * @throws SQLException If the query failed.
+     */
+    public static <T> SQLCursor<T> open(SQLConnector connector, Connection connection, SQLStatement query, int fetchSize, RowMapper<T> mapper) throws SQLException {
+        long start = System.nanoTime();
+
+        PreparedStatement statement = connector.prepare(connection, query);
+        boolean cached = connector.statementCache().cached();
+
+        try {
+            statement.setFetchSize(fetchSize);
+
+            ResultSet resultSet = statement.executeQuery();
+            return new SQLCursor<>(statement, cached, resultSet, mapper.compile(resultSet.getMetaData()), connector.metrics(), query, start);
+        } catch (SQLException | RuntimeException e) {
+            if (cached) statement.setFetchSize(0);
+            else statement.close();
+
+            connector.metrics().record(query.sql(), query.parameters(), start, -1);
+
+            throw e;
+        }
+    }
+
+    /**
+     * Registers a resource closed along with this cursor, such as the connection it reads from.
+     *
+     * @param resource The resource.
+     * @return This SQLCursor instance for method chaining.
+     */
+    public SQLCursor<T> closing(AutoCloseable resource) {
+        resources.add(resource);
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) return false;
+
+        if (!fetched) {
+            try {
+                hasRow = resultSet.next();
+            } catch (SQLException e) {
+                failed = true;
+                close();
+                throw new IllegalStateException("Failed to read the next row", e);
+            }
+
+            fetched = true;
+            if (!hasRow) close();
+        }
+
+        return hasRow;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        fetched = false;
+
+        try {
+            T row = mapper.map(resultSet);
+            count++;
+
+            return row;
+        } catch (SQLException e) {
+            failed = true;
+            close();
+            throw new IllegalStateException("Failed to map a row", e);
+        }
+    }
+
+    /**
+     * Reads up to a number of rows.
+     *
+     * @param max The maximum number of rows to read.
+     * @return The rows read, fewer than the maximum only once the cursor is exhausted.
+     */
+    public List<T> next(int max) {
+        List<T> rows = new ArrayList<>(Math.min(max, 1024));
+
+        while (rows.size() < max && hasNext()) {
+            rows.add(next());
+        }
+
+        return rows;
+    }
+
+    /**
+     * Gets a sequential stream over the remaining rows, closing this cursor when the stream is closed.
+     *
+     * @return The stream.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * Checks whether this cursor was closed, either explicitly or after reading the last row.
+     *
+     * @return True if closed, false otherwise.
+     */
+    public boolean closed() {
+        return closed;
+    }
+
+    /**
+     * Closes the result set and the registered resources. Cached statements are kept open for reuse.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+
+        try {
+            resultSet.close();
+
+            if (cached) statement.setFetchSize(0);
+            else statement.close();
+        } catch (SQLException ignored) {}
+
+        metrics.record(query.sql(), query.parameters(), start, failed ? -1 : count);
+
+        for (AutoCloseable resource : resources) {
+            try {
+                resource.close();
+            } catch (Exception ignored) {}
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package dev.manere.utils.sql.statement;
+
+import dev.manere.utils.sql.connection.SQLConnector;
+import dev.manere.utils.sql.enums.StatementType;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A single parameterized statement shape with many rows of parameters, run through JDBC batching.
+ * <P>
+ * Rows are added to the prepared statement with {@code addBatch} and sent with one
+ * {@code executeBatch} per chunk. With MySQL, the connector enables {@code rewriteBatchedStatements},
+ * so the driver also rewrites each chunk into a single multi-row statement.
+ *
+ * @param type      The kind of the statement.
+ * @param table     The table the statement targets, or null if unknown.
+ * @param sql       The SQL of the statement, with {@code ?} placeholders.
+ * @param rows      The parameters of every row, in order.
+ * @param chunkSize The number of rows sent per {@code executeBatch}.
+ */
+public record SQLBatch(StatementType type, String table, String sql, List<List<Object>> rows, int chunkSize) {
+    /**
+     * Creates a new SQL batch, copying the rows.
+     *
+     * @param type      The kind of the statement.
+     * @param table     The table the statement targets, or null if unknown.
+     * @param sql       The SQL of the statement, with {@code ?} placeholders.
+     * @param rows      The parameters of every row, in order.
+     * @param chunkSize The number of rows sent per {@code executeBatch}.
+     */
+    public SQLBatch {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(sql, "sql");
+        if (chunkSize < 1) throw new IllegalArgumentException("chunkSize must be positive");
+
+        List<List<Object>> copy = new ArrayList<>(rows.size());
+
+        for (List<Object> row : rows) {
+            copy.add(Collections.unmodifiableList(new ArrayList<>(row)));
+        }
+
+        rows = Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * Gets the statement of a single row of this batch.
+     *
+     * @param row The index of the row.
+     * @return The statement of the row.
+     */
+    public SQLStatement statement(int row) {
+        return new SQLStatement(type, table, sql, rows.get(row));
+    }
+
+    /**
+     * Runs this batch on a borrowed connection.
+     *
+     * @param connector  The connector the connection was borrowed from, used for its statement cache.
+     * @param connection The borrowed connection.
+     * @return The total number of affected rows, as far as the driver reports it.
+     * @throws SQLException If a chunk failed.
+     */
+    public int execute(SQLConnector connector, Connection connection) throws SQLException {
+        if (rows.isEmpty()) return 0;
+
+        long startNanos = System.nanoTime();
+        boolean failed = true;
+
+        SQLStatementCache cache = connector.statementCache();
+        PreparedStatement prepared = cache.prepare(connection, sql);
+        int affected = 0;
+
+        try {
+            for (int start = 0; start < rows.size(); start += chunkSize) {
+                int end = Math.min(rows.size(), start + chunkSize);
+
+                for (int row = start; row < end; row++) {
+                    List<Object> parameters = rows.get(row);
+
+                    for (int i = 0; i < parameters.size(); i++) {
+                        SQLStatement.bind(prepared, i + 1, parameters.get(i));
+                    }
+
+                    prepared.addBatch();
+                }
+
+                for (int count : prepared.executeBatch()) {
+                    if (count > 0) affected += count;
+                    else if (count == Statement.SUCCESS_NO_INFO) affected++;
+                }
+            }
+
+            failed = false;
+        } finally {
+            if (!cache.cached()) prepared.close();
+            else prepared.clearBatch();
+
+            // Batches are recorded as a whole, with the parameters of their first row
+            connector.metrics().record(sql, rows.getFirst(), startNanos, failed ? -1 : affected);
+        }
+
+        return affected;
+    }
+}
@@ -0,0 +1,94 @@
+package dev.manere.utils.sql.statement;
+
+import dev.manere.utils.sql.enums.StatementType;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A parameterized SQL statement, as built by the SQL query builders.
+ * <P>
+ * The SQL only contains {@code ?} placeholders, so every statement built with the same shape
+ * shares the same SQL string, no matter the bound values. That lets the database reuse its plan,
+ * and lets the {@link SQLStatementCache} reuse the prepared statement.
+ *
+ * @param type       The kind of the statement.
+ * @param table      The table the statement targets, or null if unknown.
+ * @param sql        The SQL of the statement, with {@code ?} placeholders.
+ * @param parameters The values bound to the placeholders, in order.
+ */
+public record SQLStatement(StatementType type, String table, String sql, List<Object> parameters) {
+    /**
+     * Creates a new SQL statement, copying the parameter list.
+     *
+     * @param type       The kind of the statement.
+     * @param table      The table the statement targets, or null if unknown.
+     * @param sql        The SQL of the statement, with {@code ?} placeholders.
+     * @param parameters The values bound to the placeholders, in order.
+     */
+    public SQLStatement {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(sql, "sql");
+        parameters = Collections.unmodifiableList(new ArrayList<>(parameters));
+    }
+
+    /**
+     * Creates a new SQL statement of unknown type and table, such as raw SQL.
+     *
+     * @param sql        The SQL of the statement, with {@code ?} placeholders.
+     * @param parameters The values bound to the placeholders, in order.
+     * @return A new SQLStatement.
+     */
+    public static SQLStatement of(String sql, Object... parameters) {
+        return new SQLStatement(StatementType.OTHER, null, sql, List.of(parameters));
+    }
+
+    /**
+     * Binds the parameters of this statement to a prepared statement.
+     *
+     * @param statement The prepared statement to bind the parameters to.
+     * @throws SQLException If a parameter could not be bound.
+     */
+    public void bind(PreparedStatement statement) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            bind(statement, i + 1, parameters.get(i));
+        }
+    }
+
+    /**
+     * Binds a single value to a prepared statement, using the setter matching its type.
+     *
+     * @param statement The prepared statement to bind the value to.
+     * @param index     The 1-based index of the placeholder.
+     * @param value     The value to bind.
+     * @throws SQLException If the value could not be bound.
+     */
+    public static void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+        switch (value) {
+            case null -> statement.setNull(index, Types.NULL);
+            case String string -> statement.setString(index, string);
+            case Integer integer -> statement.setInt(index, integer);
+            case Long number -> statement.setLong(index, number);
+            case Double number -> statement.setDouble(index, number);
+            case Float number -> statement.setFloat(index, number);
+            case Short number -> statement.setShort(index, number);
+            case Byte number -> statement.setByte(index, number);
+            case Boolean bool -> statement.setBoolean(index, bool);
+            case BigDecimal decimal -> statement.setBigDecimal(index, decimal);
+            case byte[] bytes -> statement.setBytes(index, bytes);
+            case UUID uuid -> statement.setString(index, uuid.toString());
+            case Enum<?> constant -> statement.setString(index, constant.name());
+            case Instant instant -> statement.setTimestamp(index, Timestamp.from(instant));
+            default -> statement.setObject(index, value);
+        }
+    }
+}
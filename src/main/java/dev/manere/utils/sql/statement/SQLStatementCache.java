@@ -0,0 +1,166 @@
+package dev.manere.utils.sql.statement;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of prepared statements, kept per pooled connection.
+ * <P>
+ * Each physical connection gets its own LRU cache keyed by SQL, so running a statement shape that
+ * already ran on the same connection skips parsing and planning entirely. Statements are prepared on the
+ * physical connection behind the pool's proxy, so they survive the connection being returned to the pool.
+ * Cached statements are owned by the cache and must not be closed by callers.
+ */
+public final class SQLStatementCache {
+    private final int capacity;
+    private final Map<Connection, Statements> caches = new IdentityHashMap<>();
+
+    /**
+     * Creates a new statement cache.
+     *
+     * @param capacity The maximum number of statements cached per connection, or 0 to disable caching.
+     */
+    public SQLStatementCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Prepares a statement on a connection, reusing a cached prepared statement if one exists,
+     * and binds the parameters of the statement.
+     * <P>
+     * When caching is disabled, the returned statement is a regular statement of the connection
+     * and should be closed by the caller, see {@link #cached()}.
+     *
+     * @param connection The connection, as borrowed from the pool.
+     * @param statement  The statement to prepare.
+     * @return The prepared statement, with the parameters bound.
+     * @throws SQLException If the statement could not be prepared or bound.
+     */
+    public PreparedStatement prepare(Connection connection, SQLStatement statement) throws SQLException {
+        return prepare(connection, statement.sql(), statement);
+    }
+
+    /**
+     * Prepares the SQL of a statement on a connection, reusing a cached prepared statement if one exists,
+     * without binding any parameter.
+     *
+     * @param connection The connection, as borrowed from the pool.
+     * @param sql        The SQL to prepare.
+     * @return The prepared statement.
+     * @throws SQLException If the statement could not be prepared.
+     */
+    public PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        return prepare(connection, sql, null);
+    }
+
+    /**
+     * Checks whether statements returned by this cache are cached, and thus must not be closed by callers.
+     *
+     * @return True if caching is enabled, false otherwise.
+     */
+    public boolean cached() {
+        return capacity > 0;
+    }
+
+    /**
+     * Closes and forgets every cached statement.
+     */
+    public void clear() {
+        synchronized (caches) {
+            for (Statements statements : caches.values()) {
+                statements.closeAll();
+            }
+
+            caches.clear();
+        }
+    }
+
+    private PreparedStatement prepare(Connection connection, String sql, SQLStatement statement) throws SQLException {
+        if (!cached()) {
+            PreparedStatement prepared = connection.prepareStatement(sql);
+            if (statement != null) statement.bind(prepared);
+
+            return prepared;
+        }
+
+        Connection physical = connection.unwrap(Connection.class);
+        Statements statements = statements(physical);
+
+        PreparedStatement prepared;
+
+        // A physical connection is only ever used by one borrower at a time, this lock is uncontended
+        synchronized (statements) {
+            prepared = statements.get(sql);
+
+            if (prepared == null || prepared.isClosed()) {
+                prepared = physical.prepareStatement(sql);
+                statements.put(sql, prepared);
+            } else {
+                prepared.clearParameters();
+            }
+        }
+
+        if (statement != null) statement.bind(prepared);
+        return prepared;
+    }
+
+    private Statements statements(Connection physical) throws SQLException {
+        synchronized (caches) {
+            Statements statements = caches.get(physical);
+            if (statements != null) return statements;
+
+            // New physical connections are rare, use the occasion to forget the ones the pool closed
+            Iterator<Map.Entry<Connection, Statements>> iterator = caches.entrySet().iterator();
+
+            while (iterator.hasNext()) {
+                Map.Entry<Connection, Statements> entry = iterator.next();
+
+                if (entry.getKey().isClosed()) {
+                    entry.getValue().closeAll();
+                    iterator.remove();
+                }
+            }
+
+            statements = new Statements(capacity);
+            caches.put(physical, statements);
+
+            return statements;
+        }
+    }
+
+    private static final class Statements extends LinkedHashMap<String, PreparedStatement> {
+        private final int capacity;
+
+        private Statements(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+            if (size() <= capacity) return false;
+
+            close(eldest.getValue());
+            return true;
+        }
+
+        private void closeAll() {
+            for (PreparedStatement statement : values()) {
+                close(statement);
+            }
+
+            clear();
+        }
+
+        private static void close(PreparedStatement statement) {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {}
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package dev.manere.utils.sql.transaction;
+
+import dev.manere.utils.sql.connection.SQLConnector;
+import dev.manere.utils.sql.enums.StatementType;
+import dev.manere.utils.sql.executor.SQLWork;
+import dev.manere.utils.sql.query.SQLDeleteQuery;
+import dev.manere.utils.sql.query.SQLInsertQuery;
+import dev.manere.utils.sql.query.SQLUpdateQuery;
+import dev.manere.utils.sql.statement.SQLBatch;
+import dev.manere.utils.sql.statement.SQLStatement;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * A group of write statements run in a single transaction, on a single pooled connection.
+ * <P>
+ * Steps run in the order they were added, and consecutive statements with the same SQL are sent
+ * as one JDBC batch. Either every step is committed, or none is. Groups added with {@link #attempt(UnitOfWork)}
+ * run inside a savepoint, so a failing group only rolls back its own changes.
+ * <pre>{@code
+ * UnitOfWork save = UnitOfWork.of()
+ *         .add(SQLUpdateQuery.of().table("profiles").value("name", name).where("uuid", QueryOperation.EQUALS, uuid))
+ *         .add(SQLDeleteQuery.of().from("inventories").where("uuid", QueryOperation.EQUALS, uuid))
+ *         .add(SQLInsertQuery.of().into("inventories").rows(slots))
+ *         .attempt(UnitOfWork.of().add(auditEntry).onRollback(e -> logger.warning("Audit failed: " + e)));
+ *
+ * executor.transaction(save);
+ * }</pre>
+ * When the database aborts the transaction because of a deadlock, a serialization failure or a busy SQLite database,
+ * the whole unit is rolled back and run again, up to the number of retries.
+ * {@link SQLWork} steps then run again too, so they should not have side effects outside the database.
+ */
+public final class UnitOfWork {
+    private static final String SERIALIZATION_FAILURE = "40001";
+    private static final int MYSQL_DEADLOCK = 1213;
+    private static final int SQLITE_BUSY = 5;
+
+    private final List<Object> steps = new ArrayList<>();
+    private int retries = 3;
+    private int chunkSize = 500;
+    private Consumer<SQLException> onRollback;
+
+    /**
+     * Creates a new empty unit of work.
+     *
+     * @return A new UnitOfWork.
+     */
+    public static UnitOfWork of() {
+        return new UnitOfWork();
+    }
+
+    /**
+     * Adds a write statement.
+     *
+     * @param statement The statement.
+     * @return This UnitOfWork instance for method chaining.
+     */
+    public UnitOfWork add(SQLStatement statement) {
+        steps.add(statement);
+        return this;
+    }
+
+    /**
+     * Adds an INSERT query, run as a JDBC batch, with upserts rendered in the dialect of the connector.
+     *
+     * @param query The query.
+     * @return This UnitOfWork instance for method chaining.
+     */
+    public UnitOfWork add(SQLInsertQuery query) {
+        steps.add(query);
+        return this;
+    }
+
+    /**
+     * Adds an UPDATE query.
+     *
+     * @param query The query.
+     * @return This UnitOfWork instance for method chaining.
+     */
+    public UnitOfWork add(SQLUpdateQuery query) {
+        return add(query.statement());
+    }
+
+    /**
+     * Adds a DELETE query.
+     *
+     * @param query The query.
+     * @return This UnitOfWork instance for method chaining.
+     */
+    public UnitOfWork add(SQLDeleteQuery query) {
+        return add(query.statement());
+    }
+
+    /**
+     * Adds a JDBC batch.
+     *
+     * @param batch The batch.
+     * @return This UnitOfWork instance for method chaining.
+     */
+    public UnitOfWork add(SQLBatch batch) {
+        steps.add(batch);
+        return this;
+    }
+
+    /**
+     * Adds custom work, running on the connection of the transaction. The work must neither commit nor close the connection.
+     *
+     * @param work The work.
+     * @return This UnitOfWork instance for method chaining.
+     */
+    public UnitOfWork add(SQLWork<?> work) {
+        steps.add(work);
+        return this;
+    }
+
+    /**
+     * Adds a group of steps running inside a savepoint. If a step of the group fails,
+     * the changes of the group are rolled back, its {@link #onRollback(Consumer)} handler is called,
+     * and the rest of this unit goes on. Deadlocks still abort the whole unit.
+     *
+     * @param group The group of steps.
+     * @return This UnitOfWork instance for method chaining.
+     */
+    public UnitOfWork attempt(UnitOfWork group) {
+        if (group == this) throw new IllegalArgumentException("A unit of work cannot contain itself");
+
+        steps.add(group);
+        return this;
+    }
+
+    /**
+     * Sets the handler called when this unit, added as a group with {@link #attempt(UnitOfWork)}, is rolled back to its savepoint.
+     *
+     * @param onRollback The handler of the failure.
+     * @return This UnitOfWork instance for method chaining.
+     */
+    public UnitOfWork onRollback(Consumer<SQLException> onRollback) {
+        this.onRollback = onRollback;
+        return this;
+    }
+
+    /**
+     * Sets how many times the unit is run again after a deadlock or a serialization failure.
+     *
+     * @param retries The number of retries.
+     * @return This UnitOfWork instance for method chaining.
+     */
+    public UnitOfWork retries(int retries) {
+        this.retries = Math.max(0, retries);
+        return this;
+    }
+
+    /**
+     * Sets how many rows of batched statements are sent per {@code executeBatch}.
+     *
+     * @param chunkSize The number of rows per chunk.
+     * @return This UnitOfWork instance for method chaining.
+     */
+    public UnitOfWork chunkSize(int chunkSize) {
+        if (chunkSize < 1) throw new IllegalArgumentException("chunkSize must be positive");
+
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Checks whether this unit has no step.
+     *
+     * @return True if there is no step, false otherwise.
+     */
+    public boolean isEmpty() {
+        return steps.isEmpty();
+    }
+
+    /**
+     * Gets the tables written by the statements of this unit, including its groups.
+     *
+     * @return The written tables.
+     */
+    public Set<String> tables() {
+        Set<String> tables = new LinkedHashSet<>();
+
+        for (Object step : steps) {
+            switch (step) {
+                case SQLStatement statement -> {
+                    if (statement.table() != null) tables.add(statement.table());
+                }
+                case SQLBatch batch -> {
+                    if (batch.table() != null) tables.add(batch.table());
+                }
+                case SQLInsertQuery query -> {
+                    if (query.table() != null) tables.add(query.table());
+                }
+                case UnitOfWork group -> tables.addAll(group.tables());
+                default -> {}
+            }
+        }
+
+        return tables;
+    }
+
+    /**
+     * Checks whether this unit may write to tables not listed by {@link #tables()},
+     * because it contains custom work or statements of unknown type or table.
+     *
+     * @return True if the written tables are not fully known, false otherwise.
+     */
+    public boolean opaque() {
+        for (Object step : steps) {
+            boolean opaque = switch (step) {
+                case SQLStatement statement -> statement.table() == null || statement.type() == StatementType.OTHER;
+                case SQLBatch batch -> batch.table() == null || batch.type() == StatementType.OTHER;
+                case SQLInsertQuery query -> query.table() == null;
+                case UnitOfWork group -> group.opaque();
+                default -> true;
+            };
+
+            if (opaque) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Runs this unit in a transaction on a borrowed connection, retrying it on deadlocks and serialization failures.
+     *
+     * @param connector  The connector the connection was borrowed from.
+     * @param connection The borrowed connection.
+     * @return The total number of affected rows, as far as the driver reports it.
+     * @throws SQLException If a step failed, after the transaction was rolled back.
+     */
+    public int execute(SQLConnector connector, Connection connection) throws SQLException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return transaction(connector, connection);
+            } catch (SQLException e) {
+                if (attempt >= retries || !retryable(e)) throw e;
+
+                // Let the competing transaction finish before trying again
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(10L, 50L) * (attempt + 1));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private int transaction(SQLConnector connector, Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        try {
+            int affected = run(connector, connection);
+            connection.commit();
+
+            return affected;
+        } catch (SQLException | RuntimeException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollback) {
+                e.addSuppressed(rollback);
+            }
+
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private int run(SQLConnector connector, Connection connection) throws SQLException {
+        int affected = 0;
+        List<SQLStatement> pending = new ArrayList<>();
+
+        for (Object step : steps) {
+            if (step instanceof SQLStatement statement) {
+                if (!pending.isEmpty() && !pending.getFirst().sql().equals(statement.sql())) {
+                    affected += flush(connector, connection, pending);
+                }
+
+                pending.add(statement);
+                continue;
+            }
+
+            affected += flush(connector, connection, pending);
+
+            switch (step) {
+                case SQLBatch batch -> affected += batch.execute(connector, connection);
+                case SQLInsertQuery query -> affected += query.dialect(connector.dialect()).batch().execute(connector, connection);
+                case SQLWork<?> work -> work.run(connection);
+                case UnitOfWork group -> affected += group.savepoint(connector, connection);
+                default -> throw new IllegalStateException("Unknown step " + step);
+            }
+        }
+
+        return affected + flush(connector, connection, pending);
+    }
+
+    private int savepoint(SQLConnector connector, Connection connection) throws SQLException {
+        Savepoint savepoint = connection.setSavepoint();
+
+        try {
+            int affected = run(connector, connection);
+            connection.releaseSavepoint(savepoint);
+
+            return affected;
+        } catch (SQLException e) {
+            // A deadlock aborts the whole transaction, there is nothing left to roll back to
+            if (retryable(e)) throw e;
+
+            connection.rollback(savepoint);
+            if (onRollback != null) onRollback.accept(e);
+
+            return 0;
+        }
+    }
+
+    /**
+     * Runs the pending statements, which all share the same SQL, as a single statement or as a batch.
+     */
+    private int flush(SQLConnector connector, Connection connection, List<SQLStatement> pending) throws SQLException {
+        if (pending.isEmpty()) return 0;
+
+        try {
+            if (pending.size() == 1) return connector.update(connection, pending.getFirst());
+
+            SQLStatement first = pending.getFirst();
+            List<List<Object>> rows = new ArrayList<>(pending.size());
+
+            for (SQLStatement statement : pending) {
+                rows.add(statement.parameters());
+            }
+
+            return new SQLBatch(first.type(), first.table(), first.sql(), rows, chunkSize).execute(connector, connection);
+        } finally {
+            pending.clear();
+        }
+    }
+
+    private static boolean retryable(SQLException exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql) {
+                for (SQLException next = sql; next != null; next = next.getNextException()) {
+                    if (SERIALIZATION_FAILURE.equals(next.getSQLState()) || next.getErrorCode() == MYSQL_DEADLOCK || next.getErrorCode() == SQLITE_BUSY) return true;
+                }
+            }
+        }
+
+        return false;
+    }
+}
@@ -1,29 +1,58 @@
 package dev.manere.utils.tablist;
 
+import dev.manere.utils.scheduler.Schedulers;
+import dev.manere.utils.scheduler.task.ScheduledTask;
+import dev.manere.utils.text.animation.Animation;
 import dev.manere.utils.text.color.TextStyle;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.JoinConfiguration;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The Tablist class provides utility methods for managing and updating player tablists.
+ * <P>
+ * The header and footer are made of a global layer, shown to every player, followed by an optional per-player layer.
+ * Joined components are cached until their lines change, and a player is only sent their header and footer
+ * when they differ from what they last received. {@link #start(int)} updates every online player from a single repeating task.
+ * <P>
+ * The global header and footer can also be {@link Animation}s, whose frames are parsed once and picked from the server tick.
  */
 public class Tablist {
     private static final List<Component> header = new ArrayList<>();
     private static final List<Component> footer = new ArrayList<>();
+    private static final Map<UUID, PlayerLayer> players = new ConcurrentHashMap<>();
+
+    private static Component joinedHeader = Component.empty();
+    private static Component joinedFooter = Component.empty();
+    private static int version = 0;
+
+    private static Animation headerAnimation;
+    private static Animation footerAnimation;
+    private static int headerFrame = -1;
+    private static int footerFrame = -1;
+    private static ScheduledTask task;
 
     /**
      * Sets the header of the tablist for all players.
      *
      * @param header The list of components to set as the header.
      */
-    public static void header(List<Component> header) {
+    public static synchronized void header(List<Component> header) {
         Tablist.header.clear();
         Tablist.header.addAll(header);
+        Tablist.headerAnimation = null;
+
+        joinedHeader = join(Tablist.header);
+        version++;
     }
 
     /**
@@ -49,9 +78,13 @@ public class Tablist {
      *
      * @param footer The list of components to set as the footer.
      */
-    public static void footer(List<Component> footer) {
+    public static synchronized void footer(List<Component> footer) {
         Tablist.footer.clear();
         Tablist.footer.addAll(footer);
+        Tablist.footerAnimation = null;
+
+        joinedFooter = join(Tablist.footer);
+        version++;
     }
 
     /**
@@ -73,23 +106,79 @@ public class Tablist {
     }
 
     /**
-     * Updates the tablist for a specific player.
+     * Sets an animated header of the tablist for all players.
+     * The tablist of a player only follows the animation while it is updated, see {@link #start(int)}.
+     *
+     * @param header The animation to set as the header.
+     */
+    public static synchronized void header(Animation header) {
+        Tablist.header.clear();
+        Tablist.headerAnimation = header;
+        Tablist.headerFrame = -1;
+    }
+
+    /**
+     * Sets an animated footer of the tablist for all players.
+     * The tablist of a player only follows the animation while it is updated, see {@link #start(int)}.
+     *
+     * @param footer The animation to set as the footer.
+     */
+    public static synchronized void footer(Animation footer) {
+        Tablist.footer.clear();
+        Tablist.footerAnimation = footer;
+        Tablist.footerFrame = -1;
+    }
+
+    /**
+     * Sets the per-player header of a player, shown below the global header.
+     *
+     * @param player The player.
+     * @param header The list of components to set as the header of the player, or an empty list to remove it.
+     */
+    public static synchronized void header(Player player, List<Component> header) {
+        layer(player).header(header.isEmpty() ? null : join(header));
+    }
+
+    /**
+     * Sets the per-player footer of a player, shown below the global footer.
+     *
+     * @param player The player.
+     * @param footer The list of components to set as the footer of the player, or an empty list to remove it.
+     */
+    public static synchronized void footer(Player player, List<Component> footer) {
+        layer(player).footer(footer.isEmpty() ? null : join(footer));
+    }
+
+    /**
+     * Forgets everything about a player: their per-player layer and what they last received.
+     * Called by the library once the player leaves, see {@link TablistListener}.
+     *
+     * @param player The player.
+     */
+    public static void clear(Player player) {
+        players.remove(player.getUniqueId());
+    }
+
+    /**
+     * Updates the tablist for a specific player, if it changed since the last update.
      *
      * @param player The player whose tablist needs to be updated.
      */
-    public static void update(Player player) {
-        Component joinedHeader = Component.empty();
-        Component joinedFooter = Component.empty();
+    public static synchronized void update(Player player) {
+        animate();
 
-        if (!header.isEmpty()) {
-            joinedHeader = Component.join(JoinConfiguration.newlines(), header);
-        }
+        PlayerLayer layer = layer(player);
+        layer.render();
 
-        if (!footer.isEmpty()) {
-            joinedFooter = Component.join(JoinConfiguration.newlines(), footer);
+        // Rendered components are cached, so unchanged ones are usually the same instance and compare by identity
+        if (layer.renderedHeader.equals(layer.sentHeader) && layer.renderedFooter.equals(layer.sentFooter)) {
+            return;
         }
 
-        player.sendPlayerListHeaderAndFooter(joinedHeader, joinedFooter);
+        player.sendPlayerListHeaderAndFooter(layer.renderedHeader, layer.renderedFooter);
+
+        layer.sentHeader = layer.renderedHeader;
+        layer.sentFooter = layer.renderedFooter;
     }
 
     /**
@@ -113,4 +202,135 @@ public class Tablist {
             Tablist.update(player);
         }
     }
+
+    /**
+     * Updates the tablist for every online player, and forgets the players who left.
+     */
+    public static synchronized void updateAll() {
+        Iterator<PlayerLayer> iterator = players.values().iterator();
+
+        while (iterator.hasNext()) {
+            if (!iterator.next().player.isOnline()) {
+                iterator.remove();
+            }
+        }
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            update(player);
+        }
+    }
+
+    /**
+     * Starts updating the tablist of every online player from a single repeating task, replacing the previous one if any.
+     *
+     * @param ticks The number of ticks between two updates.
+     */
+    public static synchronized void start(int ticks) {
+        if (ticks < 1) throw new IllegalArgumentException("ticks must be positive");
+
+        stop();
+        task = Schedulers.sync().execute(Tablist::updateAll, ticks, ticks);
+    }
+
+    /**
+     * Stops the repeating task started by {@link #start(int)}, if any.
+     */
+    public static synchronized void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Moves the animated header and footer to the frame of the current tick, only invalidating the rendered layers on a new frame.
+     */
+    private static void animate() {
+        long tick = Bukkit.getCurrentTick();
+
+        if (headerAnimation != null) {
+            int frame = headerAnimation.index(tick);
+
+            if (frame != headerFrame) {
+                headerFrame = frame;
+                joinedHeader = headerAnimation.frame(frame);
+                version++;
+            }
+        }
+
+        if (footerAnimation != null) {
+            int frame = footerAnimation.index(tick);
+
+            if (frame != footerFrame) {
+                footerFrame = frame;
+                joinedFooter = footerAnimation.frame(frame);
+                version++;
+            }
+        }
+    }
+
+    private static PlayerLayer layer(Player player) {
+        PlayerLayer layer = players.get(player.getUniqueId());
+
+        if (layer == null || layer.player != player) {
+            layer = new PlayerLayer(player);
+            players.put(player.getUniqueId(), layer);
+        }
+
+        return layer;
+    }
+
+    private static Component join(List<Component> lines) {
+        return lines.isEmpty() ? Component.empty() : Component.join(JoinConfiguration.newlines(), lines);
+    }
+
+    /**
+     * The per-player layer of a player, and the header and footer they last received.
+     */
+    private static final class PlayerLayer {
+        private final Player player;
+        private Component header;
+        private Component footer;
+
+        private int renderedVersion = -1;
+        private Component renderedHeader;
+        private Component renderedFooter;
+
+        private Component sentHeader;
+        private Component sentFooter;
+
+        private PlayerLayer(Player player) {
+            this.player = player;
+        }
+
+        private void header(Component header) {
+            this.header = header;
+            this.renderedVersion = -1;
+        }
+
+        private void footer(Component footer) {
+            this.footer = footer;
+            this.renderedVersion = -1;
+        }
+
+        /**
+         * Joins the global and per-player layers, only if either changed since the last render.
+         */
+        private void render() {
+            if (this.renderedVersion == version) {
+                return;
+            }
+
+            this.renderedHeader = combine(Tablist.header.isEmpty() && headerAnimation == null, joinedHeader, this.header);
+            this.renderedFooter = combine(Tablist.footer.isEmpty() && footerAnimation == null, joinedFooter, this.footer);
+            this.renderedVersion = version;
+        }
+
+        private static Component combine(boolean globalEmpty, Component global, Component player) {
+            if (player == null) return global;
+            if (globalEmpty) return player;
+
+            return Component.join(JoinConfiguration.newlines(), global, player);
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package dev.manere.utils.tablist;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * A listener forgetting the tablist of players who leave, see {@link Tablist#clear(org.bukkit.entity.Player)}.
+ */
+public class TablistListener implements Listener {
+    /**
+     * Handles players leaving the server.
+     * Runs last, so updates made by other quit listeners are forgotten too.
+     *
+     * @param event The PlayerQuitEvent to handle.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        Tablist.clear(event.getPlayer());
+    }
+}
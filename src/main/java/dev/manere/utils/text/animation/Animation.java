@@ -0,0 +1,177 @@
+package dev.manere.utils.text.animation;
+
+import dev.manere.utils.text.color.TextStyle;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A looping sequence of text frames, such as an animated tablist header or sidebar title.
+ * <P>
+ * Every frame is parsed once, when the animation is created, and the current frame is picked from the server tick,
+ * so showing an animation does not parse or allocate anything. Every viewer sees the same frame at the same time.
+ */
+public final class Animation {
+    private final Component[] frames;
+    private final int ticksPerFrame;
+
+    private Animation(Component[] frames, int ticksPerFrame) {
+        if (frames.length == 0) throw new IllegalArgumentException("An animation needs at least one frame");
+        if (ticksPerFrame < 1) throw new IllegalArgumentException("ticksPerFrame must be positive");
+
+        this.frames = frames;
+        this.ticksPerFrame = ticksPerFrame;
+    }
+
+    /**
+     * Creates an animation from frames with optional text styling, parsed once.
+     *
+     * @param ticksPerFrame the number of ticks each frame is shown for
+     * @param frames        the frames, with optional text styling
+     * @return the animation
+     */
+    public static Animation animation(int ticksPerFrame, String... frames) {
+        return animation(ticksPerFrame, Arrays.asList(frames));
+    }
+
+    /**
+     * Creates an animation from frames with optional text styling, parsed once.
+     *
+     * @param ticksPerFrame the number of ticks each frame is shown for
+     * @param frames        the frames, with optional text styling
+     * @return the animation
+     */
+    public static Animation animation(int ticksPerFrame, List<String> frames) {
+        return new Animation(TextStyle.style(frames).toArray(Component[]::new), ticksPerFrame);
+    }
+
+    /**
+     * Creates an animation from already built frames.
+     *
+     * @param ticksPerFrame the number of ticks each frame is shown for
+     * @param frames        the frames
+     * @return the animation
+     */
+    public static Animation components(int ticksPerFrame, List<Component> frames) {
+        return new Animation(frames.stream().map(Objects::requireNonNull).toArray(Component[]::new), ticksPerFrame);
+    }
+
+    /**
+     * Creates an animation sweeping a gradient across a text.
+     *
+     * @param text          the text, with optional text styling
+     * @param steps         the number of frames of a full sweep
+     * @param ticksPerFrame the number of ticks each frame is shown for
+     * @param colors        the colors of the gradient, as names or hex codes
+     * @return the animation
+     */
+    public static Animation gradient(String text, int steps, int ticksPerFrame, String... colors) {
+        if (steps < 1) throw new IllegalArgumentException("steps must be positive");
+        if (colors.length < 2) throw new IllegalArgumentException("A gradient needs at least two colors");
+
+        String gradient = String.join(":", colors);
+        List<String> frames = new ArrayList<>(steps);
+
+        for (int step = 0; step < steps; step++) {
+            // The phase goes from -1 to 1, moving the gradient across the text by one full length
+            float phase = -1F + 2F * step / steps;
+            frames.add("<gradient:" + gradient + ":" + String.format(Locale.ROOT, "%.3f", phase) + ">" + text + "</gradient>");
+        }
+
+        return animation(ticksPerFrame, frames);
+    }
+
+    /**
+     * Creates an animation scrolling a plain text through a window of a fixed width.
+     *
+     * @param text          the plain text to scroll
+     * @param width         the number of characters shown at once
+     * @param ticksPerFrame the number of ticks each frame is shown for
+     * @param style         the text styling applied to every frame, such as {@code <gold><bold>}, or an empty string
+     * @return the animation
+     */
+    public static Animation scrolling(String text, int width, int ticksPerFrame, String style) {
+        if (width < 1) throw new IllegalArgumentException("width must be positive");
+        if (text.length() <= width) return animation(ticksPerFrame, style + text);
+
+        String loop = text + " ".repeat(width) + text;
+        List<String> frames = new ArrayList<>(text.length() + width);
+
+        for (int start = 0; start < text.length() + width; start++) {
+            frames.add(style + loop.substring(start, start + width));
+        }
+
+        return animation(ticksPerFrame, frames);
+    }
+
+    /**
+     * Gets the frame shown at a tick.
+     *
+     * @param tick the tick
+     * @return the frame
+     */
+    public Component at(long tick) {
+        return this.frames[index(tick)];
+    }
+
+    /**
+     * Gets the frame shown at the current server tick.
+     *
+     * @return the frame
+     */
+    public Component current() {
+        return at(Bukkit.getCurrentTick());
+    }
+
+    /**
+     * Gets the index of the frame shown at a tick.
+     *
+     * @param tick the tick
+     * @return the index of the frame
+     */
+    public int index(long tick) {
+        return (int) (Math.floorDiv(tick, this.ticksPerFrame) % this.frames.length);
+    }
+
+    /**
+     * Gets a frame of this animation.
+     *
+     * @param index the index of the frame
+     * @return the frame
+     */
+    public Component frame(int index) {
+        return this.frames[index];
+    }
+
+    /**
+     * Gets every frame of this animation.
+     *
+     * @return an unmodifiable list of the frames
+     */
+    public List<Component> frames() {
+        return List.of(this.frames);
+    }
+
+    /**
+     * Gets the number of frames of this animation.
+     *
+     * @return the number of frames
+     */
+    public int size() {
+        return this.frames.length;
+    }
+
+    /**
+     * Gets the number of ticks each frame is shown for.
+     *
+     * @return the number of ticks per frame
+     */
+    public int ticksPerFrame() {
+        return this.ticksPerFrame;
+    }
+}
@@ -0,0 +1,74 @@
+package dev.manere.utils.menu.paginated;
+
+import dev.manere.utils.menu.listener.MenuListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import static dev.manere.utils.menu.paginated.PaginatedMenuFixture.BUTTONS;
+import static dev.manere.utils.menu.paginated.PaginatedMenuFixture.PAGE;
+import static dev.manere.utils.menu.paginated.PaginatedMenuFixture.SIZE;
+
+/**
+ * Times click dispatch and page rendering of a {@link PaginatedMenu} holding 10k buttons.
+ * Excluded from the default build, run with {@code mvn test -Pbenchmark}. Results are published to the test report.
+ */
+@Tag("benchmark")
+class PaginatedMenuBenchmark {
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    private PaginatedMenuFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new PaginatedMenuFixture();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.close();
+    }
+
+    @Test
+    void clickDispatch(TestReporter reporter) {
+        MenuListener listener = new MenuListener();
+        fixture.menu.open(fixture.player, PAGE);
+
+        for (int i = 0; i < WARMUP; i++) {
+            fixture.slot.set(i % SIZE);
+            listener.onClick(fixture.click);
+        }
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            fixture.slot.set(i % SIZE);
+            listener.onClick(fixture.click);
+        }
+
+        report(reporter, "click dispatch", start);
+    }
+
+    @Test
+    void openLatePage(TestReporter reporter) {
+        for (int i = 0; i < WARMUP; i++) {
+            fixture.menu.open(fixture.player, PAGE);
+        }
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            fixture.menu.open(fixture.player, PAGE);
+        }
+
+        report(reporter, "open(player, " + PAGE + ")", start);
+    }
+
+    private static void report(TestReporter reporter, String name, long start) {
+        long elapsed = System.nanoTime() - start;
+        reporter.publishEntry(name + " with " + BUTTONS + " buttons", String.format("%.1f ns/op", (double) elapsed / ITERATIONS));
+    }
+}
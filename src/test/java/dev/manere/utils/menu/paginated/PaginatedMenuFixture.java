@@ -0,0 +1,82 @@
+package dev.manere.utils.menu.paginated;
+
+import dev.manere.utils.item.ItemBuilder;
+import dev.manere.utils.menu.Button;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.mockito.MockedStatic;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * A {@link PaginatedMenu} holding 10k buttons over 18 slot pages, on mocks standing in for the server.
+ * Every button counts its clicks, and every item set in the inventory is counted.
+ */
+final class PaginatedMenuFixture implements AutoCloseable {
+    static final int BUTTONS = 10_000;
+    static final int SIZE = 18;
+    static final int PAGE = 500;
+
+    final AtomicInteger rendered = new AtomicInteger();
+    final AtomicInteger slot = new AtomicInteger();
+    final int[] clicks = new int[BUTTONS];
+
+    final Inventory inventory;
+    final Player player;
+    final PaginatedMenu menu;
+    final InventoryClickEvent click;
+
+    private final MockedStatic<Bukkit> bukkit;
+
+    PaginatedMenuFixture() {
+        // Stub only, so the mocks do not record the calls made by benchmarks
+        inventory = mock(Inventory.class, withSettings().stubOnly());
+        player = mock(Player.class, withSettings().stubOnly());
+
+        ItemStack stack = mock(ItemStack.class, withSettings().stubOnly());
+        when(stack.getType()).thenReturn(Material.STONE);
+
+        doAnswer(invocation -> rendered.incrementAndGet())
+                .when(inventory).setItem(anyInt(), any(ItemStack.class));
+
+        bukkit = mockStatic(Bukkit.class);
+        bukkit.when(() -> Bukkit.createInventory(any(InventoryHolder.class), anyInt(), any(Component.class)))
+                .thenReturn(inventory);
+
+        menu = PaginatedMenu.menu(Component.text("Menu"), SIZE);
+
+        for (int i = 0; i < BUTTONS; i++) {
+            int index = i;
+            menu.button(PaginatedSlot.paginatedSlot(i % SIZE, i / SIZE + 1),
+                    Button.button(ItemBuilder.item(stack), event -> clicks[index]++));
+        }
+
+        Inventory clicked = mock(Inventory.class, withSettings().stubOnly());
+        when(clicked.getHolder()).thenReturn(menu);
+
+        click = mock(InventoryClickEvent.class, withSettings().stubOnly());
+        when(click.getInventory()).thenReturn(clicked);
+        when(click.getWhoClicked()).thenReturn(player);
+        when(click.getCurrentItem()).thenReturn(stack);
+        when(click.getSlot()).thenAnswer(invocation -> slot.get());
+    }
+
+    @Override
+    public void close() {
+        bukkit.close();
+    }
+}
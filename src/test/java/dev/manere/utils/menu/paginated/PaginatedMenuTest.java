@@ -0,0 +1,56 @@
+package dev.manere.utils.menu.paginated;
+
+import dev.manere.utils.menu.listener.MenuListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static dev.manere.utils.menu.paginated.PaginatedMenuFixture.BUTTONS;
+import static dev.manere.utils.menu.paginated.PaginatedMenuFixture.PAGE;
+import static dev.manere.utils.menu.paginated.PaginatedMenuFixture.SIZE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PaginatedMenuTest {
+    private PaginatedMenuFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new PaginatedMenuFixture();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.close();
+    }
+
+    @Test
+    void clickReachesOnlyTheButtonOfTheOpenPage() {
+        MenuListener listener = new MenuListener();
+        fixture.menu.open(fixture.player, PAGE);
+
+        for (int i = 0; i < SIZE; i++) {
+            fixture.slot.set(i);
+            listener.onClick(fixture.click);
+        }
+
+        int[] expected = new int[BUTTONS];
+        for (int i = 0; i < SIZE; i++) {
+            expected[(PAGE - 1) * SIZE + i] = 1;
+        }
+
+        assertArrayEquals(expected, fixture.clicks);
+    }
+
+    @Test
+    void openingALatePageRendersOnlyItsSlots() {
+        fixture.menu.open(fixture.player, 1);
+        int first = fixture.rendered.getAndSet(0);
+
+        fixture.menu.open(fixture.player, PAGE);
+
+        assertEquals(PAGE, fixture.menu.currentPage());
+        assertEquals(SIZE, first);
+        assertEquals(first, fixture.rendered.get());
+    }
+}